@@ -0,0 +1,170 @@
+package benchmark.jmh;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.json.simple.parser.ParseException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * States shared by the benchmarks: the synthetic scenario, parameterized by the sizes of the
+ * game, and the games played from it up to different points.
+ */
+public final class GameStates {
+    public static final int WARMUP_ITERATIONS = 3; // warmup iterations of each benchmark
+    public static final int MEASURED_ITERATIONS = 5; // measured iterations of each benchmark
+    public static final int TURNS = 12; // turns of the scenarios, each update being played once
+    private static final long SEED = 42; // seed of the scenarios, the same for all the runs
+
+    private GameStates() {
+    }
+
+    /**
+     * Synthetic scenario of the benchmark, built once per set of parameters.
+     */
+    @State(Scope.Benchmark)
+    public static class ScenarioState {
+        @Param({"10000", "100000"})
+        protected int consumers; // number of initial consumers
+        @Param({"50", "500"})
+        protected int distributors; // number of distributors
+        @Param({"100", "1000"})
+        protected int producers; // number of producers
+        private Scenario scenario; // input of the game
+
+        /**
+         * Builds the scenario of the current parameters.
+         *
+         * @throws IOException    the input file could not be written or read
+         * @throws ParseException the generated input file is not a valid json
+         */
+        @Setup(Level.Trial)
+        public void createScenario() throws IOException, ParseException {
+            scenario = new Scenario(consumers, distributors, producers, TURNS, SEED);
+        }
+
+        public final Scenario getScenario() {
+            return scenario;
+        }
+    }
+
+    /**
+     * Game whose entities were just loaded, created again before each call of the benchmark.
+     */
+    @State(Scope.Thread)
+    public static class LoadedGame {
+        private Simulation simulation; // game to be played
+
+        /**
+         * Loads the entities of the scenario.
+         *
+         * @param scenarioState scenario of the benchmark
+         */
+        @Setup(Level.Invocation)
+        public void load(final ScenarioState scenarioState) {
+            simulation = new Simulation(scenarioState.getScenario());
+        }
+
+        public final Simulation getSimulation() {
+            return simulation;
+        }
+    }
+
+    /**
+     * Game past its initial month, started again before each call of the benchmark, so every
+     * call plays the same turns from the same state.
+     */
+    @State(Scope.Thread)
+    public static class StartedGame {
+        private Simulation simulation; // game to be played
+
+        /**
+         * Loads the entities of the scenario and plays the initial month.
+         *
+         * @param scenarioState scenario of the benchmark
+         */
+        @Setup(Level.Invocation)
+        public void start(final ScenarioState scenarioState) {
+            simulation = new Simulation(scenarioState.getScenario());
+            simulation.playInitialMonth();
+        }
+
+        public final Simulation getSimulation() {
+            return simulation;
+        }
+    }
+
+    /**
+     * Game past its initial month, started again at each iteration of the benchmark and left
+     * unchanged by the benchmarks using it.
+     */
+    @State(Scope.Thread)
+    public static class RunningGame {
+        private Simulation simulation; // game being played
+
+        /**
+         * Loads the entities of the scenario and plays the initial month.
+         *
+         * @param scenarioState scenario of the benchmark
+         */
+        @Setup(Level.Iteration)
+        public void start(final ScenarioState scenarioState) {
+            simulation = new Simulation(scenarioState.getScenario());
+            simulation.playInitialMonth();
+        }
+
+        public final Simulation getSimulation() {
+            return simulation;
+        }
+    }
+
+    /**
+     * Game played until its last turn, along with the file its results are written to.
+     */
+    @State(Scope.Thread)
+    public static class FinishedGame {
+        private Simulation simulation; // game played until the end
+        private Path output; // file receiving the results of the game
+
+        /**
+         * Plays the whole scenario and creates the output file.
+         *
+         * @param scenarioState scenario of the benchmark
+         * @throws IOException the output file could not be created
+         */
+        @Setup(Level.Trial)
+        public void finish(final ScenarioState scenarioState) throws IOException {
+            simulation = new Simulation(scenarioState.getScenario());
+            simulation.playInitialMonth();
+            for (int i = 0; i < TURNS; ++i) {
+                simulation.playTurn();
+            }
+            output = Files.createTempFile("benchmark", ".json");
+        }
+
+        /**
+         * Removes the output file.
+         *
+         * @throws IOException the output file could not be removed
+         */
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            Files.deleteIfExists(output);
+        }
+
+        public final Simulation getSimulation() {
+            return simulation;
+        }
+
+        public final Path getOutput() {
+            return output;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package benchmark.jmh;
+
+import benchmark.json.JsonScenarioReader;
+
+import consumer.ConsumersDB;
+
+import distributor.DistributorsDB;
+
+import entities.EntitiesFactory;
+
+import fileio.BinaryScenarioReader;
+import fileio.ScenarioConverter;
+import fileio.ScenarioGenerator;
+import fileio.ScenarioReader;
+import fileio.TokenScenarioReader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import producer.ProducersDB;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the loading of the initial data set from an input file: through the json objects
+ * built by json-simple, through the pull parser, or from a memory-mapped binary scenario file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = GameStates.WARMUP_ITERATIONS)
+@Measurement(iterations = GameStates.MEASURED_ITERATIONS)
+@Fork(1)
+public class LoadingBenchmark {
+
+    /**
+     * Input files of the benchmark, generated once per set of parameters.
+     */
+    @State(Scope.Benchmark)
+    public static class InputFiles {
+        @Param({"jsonTree", "jsonTokens", "binary"})
+        protected String format; // reader of the input file
+        @Param({"100000"})
+        protected int consumers; // number of initial consumers
+        private Path json; // json input file
+        private Path binary; // binary scenario file converted from the json one
+
+        /**
+         * Generates the json input file and converts it to a binary scenario file.
+         *
+         * @throws Exception the files could not be written
+         */
+        @Setup(Level.Trial)
+        public void create() throws Exception {
+            json = Files.createTempFile("benchmark", ".json");
+            binary = Files.createTempFile("benchmark", ".bin");
+            ScenarioGenerator generator = new ScenarioGenerator();
+            generator.setOption("consumers", Integer.toString(consumers));
+            generator.setOption("turns", "0");
+            generator.generate(json.toString());
+            ScenarioConverter.convert(json.toString(), binary.toString());
+        }
+
+        /**
+         * Removes the input files.
+         *
+         * @throws Exception the files could not be removed
+         */
+        @TearDown(Level.Trial)
+        public void delete() throws Exception {
+            Files.deleteIfExists(json);
+            Files.deleteIfExists(binary);
+        }
+
+        /**
+         * Opens the input file through the reader of the current parameters.
+         *
+         * @return the reader of the input file
+         * @throws Exception the file could not be read
+         */
+        public final ScenarioReader open() throws Exception {
+            return switch (format) {
+                case "jsonTree" -> new JsonScenarioReader(json.toString(),
+                        EntitiesFactory.getInstance());
+                case "jsonTokens" -> new TokenScenarioReader(json.toString());
+                default -> new BinaryScenarioReader(binary.toString());
+            };
+        }
+    }
+
+    /**
+     * Loads the databases of the initial data set.
+     *
+     * @param inputFiles input files of the benchmark
+     * @return the loaded databases
+     * @throws Exception the file could not be read
+     */
+    @Benchmark
+    public Object[] loadInitialData(final InputFiles inputFiles) throws Exception {
+        try (ScenarioReader reader = inputFiles.open()) {
+            ProducersDB producersDatabase = reader.loadProducers();
+            ConsumersDB consumersDatabase = reader.loadConsumers();
+            DistributorsDB distributorsDatabase = reader.loadDistributors();
+            return new Object[]{consumersDatabase, distributorsDatabase, producersDatabase};
+        }
+    }
+}
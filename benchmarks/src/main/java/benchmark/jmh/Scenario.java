@@ -0,0 +1,70 @@
+package benchmark.jmh;
+
+import fileio.ScenarioGenerator;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic input of the game, written by the scenario generator of the game and parsed back in
+ * memory: the initial data set with the consumers, distributors and producers and one update per
+ * turn. The distributors' budgets given by the generator are large enough for them to stay in
+ * game over all the turns, so every month of the benchmarks does the same kind of work.
+ */
+public final class Scenario {
+    private final JSONObject initialData; // initial data set of the game
+    private final List<JSONObject> monthlyUpdates; // updates of every turn of the game
+
+    /**
+     * Class constructor with five parameters.
+     *
+     * @param consumers    number of initial consumers
+     * @param distributors number of distributors
+     * @param producers    number of producers
+     * @param turns        number of turns of the game
+     * @param seed         of the random generator, the same seed giving the same scenario
+     * @throws IOException    the input file could not be written or read
+     * @throws ParseException the generated input file is not a valid json
+     */
+    public Scenario(final int consumers, final int distributors, final int producers,
+                    final int turns, final long seed) throws IOException, ParseException {
+        ScenarioGenerator generator = new ScenarioGenerator();
+        generator.setOption("consumers", Integer.toString(consumers));
+        generator.setOption("distributors", Integer.toString(distributors));
+        generator.setOption("producers", Integer.toString(producers));
+        generator.setOption("turns", Integer.toString(turns));
+        generator.setOption("seed", Long.toString(seed));
+        Path input = Files.createTempFile("scenario", ".json");
+        try {
+            generator.generate(input.toString());
+            JSONObject game;
+            try (Reader reader = Files.newBufferedReader(input)) {
+                game = (JSONObject) new JSONParser().parse(reader);
+            }
+            initialData = (JSONObject) game.get("initialData");
+            monthlyUpdates = new ArrayList<>(turns);
+            for (Object update : (JSONArray) game.get("monthlyUpdates")) {
+                monthlyUpdates.add((JSONObject) update);
+            }
+        } finally {
+            Files.deleteIfExists(input);
+        }
+    }
+
+    public JSONObject getInitialData() {
+        return initialData;
+    }
+
+    public List<JSONObject> getMonthlyUpdates() {
+        return monthlyUpdates;
+    }
+}
@@ -0,0 +1,82 @@
+package benchmark.jmh;
+
+import distributor.Distributor;
+
+import org.json.simple.JSONObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import producer.Producer;
+
+import strategies.EnergyChoiceStrategyType;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the suppliers chosen by each energy choice strategy in a running game.
+ */
+@SuppressWarnings("unchecked")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = GameStates.WARMUP_ITERATIONS)
+@Measurement(iterations = GameStates.MEASURED_ITERATIONS)
+@Fork(1)
+public class SelectionBenchmark {
+    private static final long ENERGY_NEEDED = 2500; // energy needed by the distributor
+    @Param({"GREEN", "PRICE", "QUANTITY"})
+    protected EnergyChoiceStrategyType strategy; // strategy used for choosing the suppliers
+    @Param({"false", "true"})
+    protected boolean rerank; // whether the rankings are sorted again before each choice
+    private Distributor distributor; // distributor outside the game choosing the suppliers
+
+    /**
+     * Creates the distributor whose suppliers are chosen, kept outside the game so that the
+     * distributors of the game keep their suppliers.
+     */
+    @Setup(Level.Trial)
+    public void createDistributor() {
+        JSONObject input = new JSONObject();
+        input.put("id", -1L);
+        input.put("energyNeededKW", ENERGY_NEEDED);
+        input.put("producerStrategy", strategy.name());
+        input.put("initialBudget", 0L);
+        input.put("contractLength", 0L);
+        input.put("initialInfrastructureCost", 0L);
+        distributor = new Distributor(input);
+    }
+
+    /**
+     * Chooses the suppliers of a distributor through the benchmarked strategy, then
+     * releases them, so every call finds the producers in the same state.
+     *
+     * @param game running game
+     * @return the chosen suppliers
+     */
+    @Benchmark
+    public List<Producer> getEnergyProducers(final GameStates.RunningGame game) {
+        Simulation simulation = game.getSimulation();
+        if (rerank) {
+            simulation.getProducersDatabase().getRanking().invalidate();
+        }
+        List<Producer> energyProducers = simulation.getChoiceStrategyFactory()
+                .createStrategy(strategy, simulation.getProducersDatabase(), distributor)
+                .getEnergyProducers();
+        for (Producer producer : energyProducers) {
+            producer.getDistributors().remove(distributor);
+        }
+        return energyProducers;
+    }
+}
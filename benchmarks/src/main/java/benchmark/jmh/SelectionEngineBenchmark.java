@@ -0,0 +1,121 @@
+package benchmark.jmh;
+
+import distributor.Distributor;
+
+import org.json.simple.JSONObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import producer.Producer;
+
+import strategies.EnergyChoiceStrategyType;
+import strategies.ProducersRanking;
+import strategies.ProducersSelector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the producers selection step of the energy choice strategies, comparing the
+ * former copy, sort and remove loop with the cursor of the shared selection engine over growing
+ * numbers of producers. The best ranked half of the producers is at full capacity, so both
+ * approaches have to get past it before choosing any supplier.
+ */
+@SuppressWarnings("unchecked")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = GameStates.WARMUP_ITERATIONS)
+@Measurement(iterations = GameStates.MEASURED_ITERATIONS)
+@Fork(1)
+public class SelectionEngineBenchmark {
+    private static final int CHOSEN_PRODUCERS = 64; // suppliers needed by the distributor
+    private static final long ENERGY_PER_DISTRIBUTOR = 1000; // energy offered by each producer
+    @Param({"1000", "4000", "16000", "32000"})
+    protected int producersCount; // number of producers
+    @Param({"removeLoop", "cursor"})
+    protected String selection; // former selection loop or cursor of the selection engine
+    private List<Producer> producers; // list of all producers
+    private ProducersRanking ranking; // rankings walked by the selection engine
+    private Distributor distributor; // distributor for whom the suppliers are chosen
+
+    /**
+     * Creates the producers, the first half of the ranking being unable to supply any more
+     * distributors, and the distributor for whom the suppliers are chosen.
+     */
+    @Setup(Level.Trial)
+    public void createProducers() {
+        producers = new ArrayList<>();
+        for (int i = 0; i < producersCount; ++i) {
+            JSONObject producer = new JSONObject();
+            producer.put("id", (long) i);
+            producer.put("energyType", "WIND");
+            producer.put("energyPerDistributor", ENERGY_PER_DISTRIBUTOR);
+            producer.put("priceKW", (double) i);
+            producer.put("maxDistributors", i < producersCount / 2 ? 0L : (long) producersCount);
+            producers.add(new Producer(producer));
+        }
+        ranking = new ProducersRanking(producers);
+        JSONObject input = new JSONObject();
+        input.put("id", 0L);
+        input.put("energyNeededKW", CHOSEN_PRODUCERS * ENERGY_PER_DISTRIBUTOR);
+        input.put("producerStrategy", "PRICE");
+        input.put("initialBudget", 0L);
+        input.put("contractLength", 0L);
+        input.put("initialInfrastructureCost", 0L);
+        distributor = new Distributor(input);
+    }
+
+    /**
+     * The former selection loop: copies and sorts the producers, removes the ones at capacity
+     * and extracts the first producer until the energy need is covered. Private method designed
+     * for the current class.
+     *
+     * @return list of producers chosen as suppliers
+     */
+    private List<Producer> removeSelection() {
+        List<Producer> energyProducers = new ArrayList<>();
+        List<Producer> sortedProducers = new ArrayList<>(producers);
+        sortedProducers.sort(Comparator.comparing(Producer::getPriceKW));
+        sortedProducers.removeIf(producer -> producer.getDistributors().size()
+                == producer.getMaxDistributors());
+        long distributorEnergy = distributor.getEnergyNeededKW();
+        while (distributorEnergy > 0) {
+            Producer chosenProducer = sortedProducers.get(0);
+            energyProducers.add(chosenProducer);
+            chosenProducer.addDistributor(distributor);
+            distributorEnergy -= chosenProducer.getEnergyPerDistributor();
+            sortedProducers.remove(chosenProducer);
+        }
+        return energyProducers;
+    }
+
+    /**
+     * Chooses the suppliers of the distributor through the benchmarked selection, then releases
+     * them, so every call finds the producers in the same state.
+     *
+     * @return the chosen suppliers
+     */
+    @Benchmark
+    public List<Producer> selectProducers() {
+        List<Producer> chosenProducers = selection.equals("cursor")
+                ? ProducersSelector.selectProducers(ranking, EnergyChoiceStrategyType.PRICE,
+                        distributor)
+                : removeSelection();
+        chosenProducers.forEach(producer -> producer.getDistributors().clear());
+        return chosenProducers;
+    }
+}
@@ -0,0 +1,98 @@
+package benchmark.jmh;
+
+import consumer.Consumer;
+import consumer.ConsumersDB;
+
+import distributor.Distributor;
+import distributor.DistributorsDB;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import strategies.EnergyChoiceStrategyType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling benchmark of the monthly settlement of the distributors, timing the monthly rates
+ * calculation, the removal of invalid contracts and the update of the distributors on pools of
+ * growing sizes, one thread meaning the sequential settlement. The budgets never go negative and
+ * the contracts never expire, so every call settles the same month.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = GameStates.WARMUP_ITERATIONS)
+@Measurement(iterations = GameStates.MEASURED_ITERATIONS)
+@Fork(1)
+public class SettlementBenchmark {
+    private static final int DISTRIBUTORS = 2000; // number of distributors
+    private static final int CLIENTS_PER_DISTRIBUTOR = 250; // clients of each distributor
+    private static final long BUDGET = Long.MAX_VALUE / 4; // budget that never goes negative
+    private static final long CONTRACT_LENGTH = 1_000_000; // contracts that never expire
+    @Param({"1", "2", "4", "8"})
+    protected int threads; // threads of the settlement pool, 1 for the sequential settlement
+    private DistributorsDB distributorsDatabase; // database of all distributors
+    private ForkJoinPool pool; // pool of the parallel settlement, null if sequential
+
+    /**
+     * Creates the database of distributors, each of them with its own clients, and the pool
+     * they are settled on.
+     */
+    @Setup(Level.Trial)
+    public void createDistributors() {
+        ConsumersDB consumersDatabase = new ConsumersDB();
+        List<Distributor> distributors = new ArrayList<>();
+        long consumerId = 0;
+        for (int i = 0; i < DISTRIBUTORS; ++i) {
+            Distributor distributor = new Distributor(i, CONTRACT_LENGTH, BUDGET, i, 0,
+                    EnergyChoiceStrategyType.PRICE);
+            for (int j = 0; j < CLIENTS_PER_DISTRIBUTOR; ++j) {
+                Consumer consumer = consumersDatabase.addConsumer(consumerId++, 0, 0);
+                consumer.getContract().updateContract(distributor);
+                distributor.addClient(consumer);
+            }
+            distributors.add(distributor);
+        }
+        distributorsDatabase = new DistributorsDB(distributors);
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        distributorsDatabase.setSettlementPool(pool);
+    }
+
+    /**
+     * Stops the threads of the settlement pool.
+     */
+    @TearDown(Level.Trial)
+    public void shutdownPool() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs the settlement phases of a month.
+     *
+     * @return the settled database
+     */
+    @Benchmark
+    public DistributorsDB settle() {
+        distributorsDatabase.calculateMonthlyRate();
+        distributorsDatabase.removeInvalidContracts();
+        distributorsDatabase.updateDistributors();
+        return distributorsDatabase;
+    }
+}
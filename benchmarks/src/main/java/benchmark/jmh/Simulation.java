@@ -0,0 +1,92 @@
+package benchmark.jmh;
+
+import benchmark.json.JsonUpdate;
+import benchmark.json.LoadConsumers;
+import benchmark.json.LoadDistributors;
+import benchmark.json.LoadProducers;
+
+import consumer.ConsumersDB;
+
+import distributor.DistributorsDB;
+
+import entities.EntitiesFactory;
+
+import game.InitialMonth;
+import game.TurnMonth;
+
+import producer.ProducersDB;
+
+import strategies.EnergyChoiceStrategyFactory;
+
+/**
+ * State of a game loaded from a synthetic scenario, played the same way as by the entry point of
+ * the simulation, one month at a time.
+ */
+public final class Simulation {
+    private final Scenario scenario; // input of the game
+    private final EntitiesFactory entitiesFactory; // factory of entities
+    private final EnergyChoiceStrategyFactory choiceStrategyFactory; // factory of strategies
+    private final ConsumersDB consumersDatabase; // database of all consumers
+    private final DistributorsDB distributorsDatabase; // database of all distributors
+    private final ProducersDB producersDatabase; // database of all producers
+    private int playedTurns; // number of turns played after the initial month
+
+    /**
+     * Class constructor with one parameter. Loads the entities of the initial data set.
+     *
+     * @param scenario input of the game
+     */
+    public Simulation(final Scenario scenario) {
+        this.scenario = scenario;
+        entitiesFactory = EntitiesFactory.getInstance();
+        choiceStrategyFactory = EnergyChoiceStrategyFactory.getInstance();
+        producersDatabase = new ProducersDB(new LoadProducers(scenario.getInitialData(),
+                entitiesFactory).getLoadedProducers());
+        consumersDatabase = new LoadConsumers(scenario.getInitialData(), entitiesFactory)
+                .getLoadedConsumers();
+        distributorsDatabase = new DistributorsDB(new LoadDistributors(
+                scenario.getInitialData(), entitiesFactory).getLoadedDistributors());
+    }
+
+    /**
+     * Plays the initial month of the game.
+     */
+    public void playInitialMonth() {
+        new InitialMonth(consumersDatabase, producersDatabase, distributorsDatabase,
+                choiceStrategyFactory).playGame();
+    }
+
+    /**
+     * Plays the next turn of the game, with the next update of the scenario. Each update is
+     * played once, since applying one again would add the same new consumers a second time.
+     */
+    public void playTurn() {
+        if (playedTurns == scenario.getMonthlyUpdates().size()) {
+            throw new IllegalStateException("All the turns of the scenario were played");
+        }
+        new TurnMonth(consumersDatabase, producersDatabase, distributorsDatabase,
+                new JsonUpdate(scenario.getMonthlyUpdates().get(playedTurns), entitiesFactory),
+                choiceStrategyFactory, playedTurns).playGame();
+        playedTurns++;
+    }
+
+    public EnergyChoiceStrategyFactory getChoiceStrategyFactory() {
+        return choiceStrategyFactory;
+    }
+
+    public ConsumersDB getConsumersDatabase() {
+        return consumersDatabase;
+    }
+
+    public DistributorsDB getDistributorsDatabase() {
+        return distributorsDatabase;
+    }
+
+    public ProducersDB getProducersDatabase() {
+        return producersDatabase;
+    }
+
+    public int getPlayedTurns() {
+        return playedTurns;
+    }
+}
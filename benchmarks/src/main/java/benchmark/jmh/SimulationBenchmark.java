@@ -0,0 +1,84 @@
+package benchmark.jmh;
+
+import distributor.Distributor;
+
+import fileio.Writer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the phases of a game: the initial month, a turn, the choice of the preferred
+ * distributor and the writing of the results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = GameStates.WARMUP_ITERATIONS)
+@Measurement(iterations = GameStates.MEASURED_ITERATIONS)
+@Fork(1)
+public class SimulationBenchmark {
+
+    /**
+     * Plays the initial month of a freshly loaded game.
+     *
+     * @param game loaded game
+     * @return the played game
+     */
+    @Benchmark
+    public Simulation initialMonth(final GameStates.LoadedGame game) {
+        game.getSimulation().playInitialMonth();
+        return game.getSimulation();
+    }
+
+    /**
+     * Plays all the turns of a freshly started game, the score being the time of one turn.
+     *
+     * @param game started game
+     * @return the played game
+     */
+    @Benchmark
+    @OperationsPerInvocation(GameStates.TURNS)
+    public Simulation turnMonth(final GameStates.StartedGame game) {
+        for (int i = 0; i < GameStates.TURNS; ++i) {
+            game.getSimulation().playTurn();
+        }
+        return game.getSimulation();
+    }
+
+    /**
+     * Finds the distributor with the lowest monthly rate in a running game.
+     *
+     * @param game running game
+     * @return the preferred distributor
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Distributor getMinPrice(final GameStates.RunningGame game) {
+        return game.getSimulation().getDistributorsDatabase().getMinPrice();
+    }
+
+    /**
+     * Writes the results of a finished game.
+     *
+     * @param game finished game
+     * @throws IOException the output file could not be written
+     */
+    @Benchmark
+    public void writeData(final GameStates.FinishedGame game) throws IOException {
+        Simulation simulation = game.getSimulation();
+        try (Writer writer = new Writer(game.getOutput().toString())) {
+            writer.writeData(simulation.getConsumersDatabase(),
+                    simulation.getDistributorsDatabase(), simulation.getProducersDatabase(),
+                    simulation.getPlayedTurns());
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package benchmark.json;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ContentHandler;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Streaming reader of the input file. The number of turns and the initial data set are loaded
+ * first, while the monthly updates are parsed one at a time, when the game requests them, so
+ * they are never kept in memory all at once.
+ */
+@SuppressWarnings("unchecked")
+public final class InputReader implements AutoCloseable {
+    private final BufferedReader reader; // reader of the input file
+    private final JSONParser parser; // parser that can be paused and resumed
+    private final InputHandler handler; // handler of the parsing events
+    private long numberOfTurns; // number of turns extracted from input file
+    private JSONObject initialData; // initial data set extracted from input file
+    // monthly updates parsed but not yet requested by the game
+    private final Deque<JSONObject> monthlyUpdates;
+    private boolean finished; // the whole input file was parsed
+
+    /**
+     * Class constructor with one parameter. Parses the input file until the number of turns and
+     * the initial data set are known.
+     *
+     * @param path of the given input file
+     * @throws IOException    input/output exception
+     * @throws ParseException the input file is not a valid json
+     */
+    public InputReader(final String path) throws IOException, ParseException {
+        reader = new BufferedReader(new FileReader(path));
+        parser = new JSONParser();
+        handler = new InputHandler();
+        monthlyUpdates = new ArrayDeque<>();
+        numberOfTurns = -1;
+        while (!finished && (numberOfTurns < 0 || initialData == null)) {
+            resume();
+        }
+    }
+
+    /**
+     * Continues parsing the input file until the next section of interest was read. Private
+     * method designed for the current class.
+     *
+     * @throws IOException    input/output exception
+     * @throws ParseException the input file is not a valid json
+     */
+    private void resume() throws IOException, ParseException {
+        parser.parse(reader, handler, true);
+    }
+
+    /**
+     * Returns the update of the next month of the game, parsing it from the input file if
+     * needed. The initial data set is released at the first call, since the entities were
+     * already loaded from it.
+     *
+     * @return the next monthly update, null if there are no updates left
+     * @throws IOException    input/output exception
+     * @throws ParseException the input file is not a valid json
+     */
+    public JSONObject nextUpdate() throws IOException, ParseException {
+        initialData = null;
+        while (monthlyUpdates.isEmpty() && !finished) {
+            resume();
+        }
+        return monthlyUpdates.poll();
+    }
+
+    /**
+     * Closes the input file.
+     *
+     * @throws IOException input/output exception
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    public long getNumberOfTurns() {
+        return numberOfTurns;
+    }
+
+    public JSONObject getInitialData() {
+        return initialData;
+    }
+
+    /**
+     * Handler that builds the sections of the input file from the parsing events. The parser is
+     * paused each time a section of interest is complete. The monthly updates array itself is
+     * never built, only its elements.
+     */
+    private final class InputHandler implements ContentHandler {
+        private final Deque<Object> values = new ArrayDeque<>(); // values being built
+        private final Deque<String> keys = new ArrayDeque<>(); // keys of the open entries
+        private int depth; // nesting level of the current position in the input file
+
+        /**
+         * Adds a value to the one being built or, if the value is complete, delivers it.
+         *
+         * @param value to be added
+         * @return false if the parser must pause, true otherwise
+         */
+        private boolean addValue(final Object value) {
+            Object parent = values.peek();
+            if (parent instanceof JSONObject) {
+                ((JSONObject) parent).put(keys.peek(), value);
+            } else if (parent instanceof JSONArray) {
+                ((JSONArray) parent).add(value);
+            } else {
+                return deliver(value);
+            }
+            return true;
+        }
+
+        /**
+         * Stores a complete section of the input file.
+         *
+         * @param value complete section
+         * @return false, since the parser must pause after a complete section
+         */
+        private boolean deliver(final Object value) {
+            if (depth == 1) {
+                if ("numberOfTurns".equals(keys.peek())) {
+                    numberOfTurns = (long) value;
+                } else if ("initialData".equals(keys.peek())) {
+                    initialData = (JSONObject) value;
+                } else {
+                    return true; // other sections of the input file are ignored
+                }
+            } else {
+                monthlyUpdates.add((JSONObject) value); // element of the monthly updates
+            }
+            return false;
+        }
+
+        /**
+         * Verifies whether the container starting at the current position is the monthly
+         * updates array, whose elements are delivered one by one.
+         *
+         * @return true for the monthly updates array
+         */
+        private boolean isUpdatesArray() {
+            return depth == 1 && values.isEmpty() && "monthlyUpdates".equals(keys.peek());
+        }
+
+        @Override
+        public void startJSON() {
+        }
+
+        @Override
+        public void endJSON() {
+            finished = true;
+        }
+
+        @Override
+        public boolean startObject() {
+            if (depth++ > 0) { // the root object is not built
+                values.push(new JSONObject());
+            }
+            return true;
+        }
+
+        @Override
+        public boolean endObject() {
+            if (--depth == 0) {
+                return true;
+            }
+            return addValue(values.pop());
+        }
+
+        @Override
+        public boolean startObjectEntry(final String key) {
+            keys.push(key);
+            return true;
+        }
+
+        @Override
+        public boolean endObjectEntry() {
+            keys.pop();
+            return true;
+        }
+
+        @Override
+        public boolean startArray() {
+            if (!isUpdatesArray()) {
+                values.push(new JSONArray());
+            }
+            depth++;
+            return true;
+        }
+
+        @Override
+        public boolean endArray() {
+            depth--;
+            if (isUpdatesArray()) {
+                return true;
+            }
+            return addValue(values.pop());
+        }
+
+        @Override
+        public boolean primitive(final Object value) {
+            return addValue(value);
+        }
+    }
+}
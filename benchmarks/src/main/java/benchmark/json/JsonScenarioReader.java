@@ -0,0 +1,83 @@
+package benchmark.json;
+
+import consumer.ConsumersDB;
+
+import distributor.DistributorsDB;
+
+import entities.EntitiesFactory;
+
+import fileio.ScenarioReader;
+
+import game.MonthlyUpdate;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+import producer.ProducersDB;
+
+import java.io.IOException;
+
+/**
+ * Reader of a json input file, the entities being created by the entities factory from the json
+ * objects streamed by the input reader. The game reads the json files through the pull parser,
+ * so this reader is only kept as the baseline of the loading benchmark.
+ */
+public final class JsonScenarioReader implements ScenarioReader {
+    private final InputReader inputReader; // streaming reader of the input file
+    private final EntitiesFactory entitiesFactory; // factory of entities
+
+    /**
+     * Class constructor with two parameters.
+     *
+     * @param path            of the input file
+     * @param entitiesFactory factory of entities
+     * @throws IOException    input/output exception
+     * @throws ParseException the input file is not a valid json
+     */
+    public JsonScenarioReader(final String path, final EntitiesFactory entitiesFactory)
+            throws IOException, ParseException {
+        this.inputReader = new InputReader(path);
+        this.entitiesFactory = entitiesFactory;
+    }
+
+    @Override
+    public long getNumberOfTurns() {
+        return inputReader.getNumberOfTurns();
+    }
+
+    @Override
+    public ConsumersDB loadConsumers() {
+        return new LoadConsumers(inputReader.getInitialData(), entitiesFactory)
+                .getLoadedConsumers();
+    }
+
+    @Override
+    public DistributorsDB loadDistributors() {
+        return new DistributorsDB(new LoadDistributors(inputReader.getInitialData(),
+                entitiesFactory).getLoadedDistributors());
+    }
+
+    @Override
+    public ProducersDB loadProducers() {
+        return new ProducersDB(new LoadProducers(inputReader.getInitialData(), entitiesFactory)
+                .getLoadedProducers());
+    }
+
+    @Override
+    public MonthlyUpdate nextUpdate() throws IOException, ParseException {
+        JSONObject update = inputReader.nextUpdate();
+        return update == null ? null : new JsonUpdate(update, entitiesFactory);
+    }
+
+    @Override
+    public void skipUpdates(final long count) throws IOException, ParseException {
+        for (long i = 0; i < count; ++i) {
+            inputReader.nextUpdate();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputReader.close();
+    }
+}
@@ -0,0 +1,54 @@
+package benchmark.json;
+
+import consumer.ConsumersDB;
+
+import distributor.DistributorsDB;
+
+import entities.EntitiesFactory;
+
+import game.MonthlyUpdate;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import producer.ProducersDB;
+
+/**
+ * Monthly update read from a json input file.
+ */
+public final class JsonUpdate implements MonthlyUpdate {
+    private final JSONObject update; // monthly update extracted from input file
+    private final EntitiesFactory entitiesFactory; // factory of the new consumers
+
+    /**
+     * Class constructor with two parameters.
+     *
+     * @param update          monthly update extracted from input file
+     * @param entitiesFactory factory of the new consumers
+     */
+    public JsonUpdate(final JSONObject update, final EntitiesFactory entitiesFactory) {
+        this.update = update;
+        this.entitiesFactory = entitiesFactory;
+    }
+
+    @Override
+    public void apply(final ConsumersDB consumersDatabase,
+                      final DistributorsDB distributorsDatabase,
+                      final ProducersDB producersDatabase) {
+        if (((JSONArray) update.get("newConsumers")).size() != 0) {
+            for (Object consumer : ((JSONArray) update.get("newConsumers"))) {
+                entitiesFactory.createConsumer((JSONObject) consumer, consumersDatabase);
+            }
+        }
+        if (((JSONArray) update.get("distributorChanges")).size() != 0) {
+            for (Object distributor : ((JSONArray) update.get("distributorChanges"))) {
+                long id = (long) ((JSONObject) distributor).get("id");
+                distributorsDatabase.getDistributor(id)
+                        .updateDistributor((JSONObject) distributor);
+            }
+        }
+        // all the producer changes of the month are applied at once and the affected
+        // distributors queue themselves for updating their suppliers
+        producersDatabase.updateProducers((JSONArray) update.get("producerChanges"));
+    }
+}
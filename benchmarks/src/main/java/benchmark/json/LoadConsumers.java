@@ -0,0 +1,31 @@
+package benchmark.json;
+
+import consumer.ConsumersDB;
+
+import entities.EntitiesFactory;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+public final class LoadConsumers {
+    // database of the consumers loaded from input file
+    private final ConsumersDB loadedConsumers = new ConsumersDB();
+
+    /**
+     * Class constructor with two parameters.
+     *
+     * @param initialData data extracted from input file
+     * @param factory class responsible of creating entities
+     */
+    public LoadConsumers(final JSONObject initialData, final EntitiesFactory factory) {
+        // list of consumers given through input data
+        JSONArray consumers = (JSONArray) initialData.get("consumers");
+        for (Object consumer : consumers) {
+            factory.createConsumer((JSONObject) consumer, loadedConsumers);
+        }
+    }
+
+    public ConsumersDB getLoadedConsumers() {
+        return loadedConsumers;
+    }
+}
@@ -1,4 +1,4 @@
-package fileio;
+package benchmark.json;
 
 import distributor.Distributor;
 
@@ -12,7 +12,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
 
-@SuppressWarnings("deprecation")
 public final class LoadDistributors {
     // list of distributors loaded from input file
     private final List<Distributor> loadedDistributors = new ArrayList<>();
@@ -1,4 +1,4 @@
-package fileio;
+package benchmark.json;
 
 import entities.EntitiesFactory;
 import entities.EntityType;
@@ -0,0 +1,128 @@
+package benchmark.distributor;
+
+import consumer.Consumer;
+import consumer.ConsumersDB;
+
+import distributor.ClientSet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The client set keeps the live clients in the order they were added, whatever the departures
+ * and the compactions of its tombstones, like a list from which the departed clients are
+ * removed.
+ */
+final class ClientSetTest {
+    private static final int CONSUMERS = 200; // consumers joining and leaving the set
+    private static final int OPERATIONS = 20_000; // additions and departures of a run
+    private static final long[] SEEDS = {1, 2, 3, 4}; // seeds of the runs
+    private static final int DEPARTURE_ODDS = 3; // one operation out of these is a departure
+    private static final int KEPT_RATIO = 10; // one client out of these stays in the set
+
+    /**
+     * Adds a consumer to the set and to the expected list of clients. Private method designed
+     * for the current class.
+     *
+     * @param clients  client set being tested
+     * @param expected list of the entries of the live clients
+     * @param consumer joining the set
+     */
+    private static void add(final ClientSet clients, final List<Consumer> expected,
+                            final Consumer consumer) {
+        consumer.getContract().addClientEntry();
+        clients.add(consumer);
+        expected.add(consumer);
+    }
+
+    /**
+     * Removes all the entries of a consumer from the set and from the expected list. Private
+     * method designed for the current class.
+     *
+     * @param clients  client set being tested
+     * @param expected list of the entries of the live clients
+     * @param consumer leaving the set
+     */
+    private static void leave(final ClientSet clients, final List<Consumer> expected,
+                              final Consumer consumer) {
+        int entries = (int) consumer.getContract().getClientEntries();
+        consumer.getContract().leaveClients();
+        clients.markDeparted(entries);
+        expected.removeAll(Collections.singleton(consumer));
+    }
+
+    /**
+     * Verifies that the set iterates the expected clients in the expected order. Private method
+     * designed for the current class.
+     *
+     * @param clients  client set being tested
+     * @param expected list of the entries of the live clients
+     */
+    private static void check(final ClientSet clients, final List<Consumer> expected) {
+        List<Consumer> actual = new ArrayList<>();
+        clients.forEach(actual::add);
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), clients.size());
+    }
+
+    /**
+     * Random additions and departures, the consumers joining again after leaving and some of
+     * them being added several times, are checked against a list after every operation.
+     */
+    @Test
+    void matchesListAfterRandomOperations() {
+        for (long seed : SEEDS) {
+            Random random = new Random(seed);
+            ConsumersDB consumersDatabase = new ConsumersDB();
+            List<Consumer> consumers = new ArrayList<>();
+            for (int i = 0; i < CONSUMERS; ++i) {
+                consumers.add(consumersDatabase.addConsumer(i, 0, 0));
+            }
+            ClientSet clients = new ClientSet();
+            List<Consumer> expected = new ArrayList<>();
+            for (int i = 0; i < OPERATIONS; ++i) {
+                Consumer consumer = consumers.get(random.nextInt(CONSUMERS));
+                if (random.nextInt(DEPARTURE_ODDS) == 0) {
+                    leave(clients, expected, consumer);
+                } else {
+                    add(clients, expected, consumer);
+                }
+                check(clients, expected);
+            }
+        }
+    }
+
+    /**
+     * Most clients leave at once, compacting the set, and the ones left keep their order,
+     * followed by the clients added afterwards.
+     */
+    @Test
+    void keepsOrderAcrossCompaction() {
+        ConsumersDB consumersDatabase = new ConsumersDB();
+        ClientSet clients = new ClientSet();
+        List<Consumer> expected = new ArrayList<>();
+        List<Consumer> consumers = new ArrayList<>();
+        for (int i = 0; i < CONSUMERS; ++i) {
+            consumers.add(consumersDatabase.addConsumer(i, 0, 0));
+            add(clients, expected, consumers.get(i));
+        }
+        // every consumer but one out of ten leaves, in reverse order
+        for (int i = CONSUMERS - 1; i >= 0; --i) {
+            if (i % KEPT_RATIO != 0) {
+                leave(clients, expected, consumers.get(i));
+                check(clients, expected);
+            }
+        }
+        // some of the departed consumers join again, after the ones left
+        for (int i = 1; i < CONSUMERS; i += KEPT_RATIO) {
+            add(clients, expected, consumers.get(i));
+        }
+        check(clients, expected);
+    }
+}
@@ -0,0 +1,41 @@
+package benchmark.game;
+
+import fileio.ScenarioConverter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * A game read from a binary scenario file, converted from a json input file, gives the same
+ * output as the game read from the json file.
+ */
+final class BinaryScenarioTest {
+    private static final long[] SEEDS = {11, 12, 13}; // seeds of the scenarios played
+    private static final long DIVISOR = 8; // divisor of the consumers' budgets and incomes
+
+    /**
+     * Each scenario is played from its json file and from the converted binary file, the
+     * outputs being compared.
+     *
+     * @param directory temporary directory of the input and output files
+     * @throws Exception the files could not be written or a game could not be played
+     */
+    @Test
+    void binaryScenarioMatchesJson(@TempDir final Path directory) throws Exception {
+        for (long seed : SEEDS) {
+            Path json = Games.impoverish(Games.generate(directory.resolve(seed + ".json"),
+                    "consumers", "5000", "distributors", "15", "producers", "40",
+                    "turns", "12", "churn", "0.05", "seed", Long.toString(seed)), DIVISOR);
+            Path binary = directory.resolve(seed + ".bin");
+            ScenarioConverter.convert(json.toString(), binary.toString());
+            byte[] expected = Games.play(Games.newRunner(), json,
+                    directory.resolve(seed + "-json.out"));
+            assertArrayEquals(expected, Games.play(Games.newRunner(), binary,
+                    directory.resolve(seed + "-binary.out")), "seed " + seed);
+        }
+    }
+}
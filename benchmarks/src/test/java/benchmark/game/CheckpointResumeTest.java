@@ -0,0 +1,47 @@
+package benchmark.game;
+
+import game.GameRunner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * A game resumed from a checkpoint gives the same output as the game played without stopping.
+ * The checkpoint file holds the state after the last turn that is a multiple of the interval,
+ * so the intervals are chosen for the resumed games to play a different number of turns.
+ */
+final class CheckpointResumeTest {
+    private static final int TURNS = 12; // turns of the scenario played
+    private static final int[] INTERVALS = {1, 2, 5, 7, 11}; // turns between two checkpoints
+    private static final long DIVISOR = 8; // divisor of the consumers' budgets and incomes
+
+    /**
+     * The scenario is played once without checkpoints and, for each interval, once writing
+     * checkpoints and once more resumed from the last checkpoint written.
+     *
+     * @param directory temporary directory of the input, checkpoint and output files
+     * @throws Exception the files could not be written or a game could not be played
+     */
+    @Test
+    void resumedGamesMatchUninterruptedGame(@TempDir final Path directory) throws Exception {
+        Path input = Games.impoverish(Games.generate(directory.resolve("input.json"),
+                "consumers", "5000", "distributors", "15", "producers", "40",
+                "turns", Integer.toString(TURNS), "churn", "0.05", "seed", "7"), DIVISOR);
+        byte[] expected = Games.play(Games.newRunner(), input, directory.resolve("full.out"));
+        for (int interval : INTERVALS) {
+            Path checkpoint = directory.resolve(interval + ".ckpt");
+            GameRunner writer = Games.newRunner();
+            writer.setCheckpoint(checkpoint.toString(), interval);
+            assertArrayEquals(expected, Games.play(writer, input,
+                    directory.resolve(interval + "-written.out")), "interval " + interval);
+            GameRunner resumed = Games.newRunner();
+            resumed.setResumePath(checkpoint.toString());
+            assertArrayEquals(expected, Games.play(resumed, input,
+                    directory.resolve(interval + "-resumed.out")), "interval " + interval);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package benchmark.game;
+
+import fileio.ScenarioGenerator;
+
+import game.GameRunner;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+
+import strategies.EnergyChoiceStrategyFactory;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Scenarios and games shared by the tests comparing two ways of playing the same game, whose
+ * outputs must be identical.
+ */
+@SuppressWarnings("unchecked")
+final class Games {
+
+    private Games() {
+    }
+
+    /**
+     * Generates an input file from the given settings of the scenario generator.
+     *
+     * @param input         path of the input file
+     * @param namesAndValues names of the settings, each followed by its value
+     * @return the path of the input file
+     * @throws Exception the input file could not be written
+     */
+    static Path generate(final Path input, final String... namesAndValues) throws Exception {
+        ScenarioGenerator generator = new ScenarioGenerator();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            generator.setOption(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        generator.generate(input.toString());
+        return input;
+    }
+
+    /**
+     * Divides the initial budgets and the monthly incomes of all the consumers of an input file,
+     * so that many of them get into debt and go bankrupt, which the generated budgets and
+     * incomes never do.
+     *
+     * @param input   path of the input file, rewritten in place
+     * @param divisor of the budgets and incomes
+     * @return the path of the input file
+     * @throws Exception the input file could not be read or written
+     */
+    static Path impoverish(final Path input, final long divisor) throws Exception {
+        JSONObject game;
+        try (Reader reader = Files.newBufferedReader(input)) {
+            game = (JSONObject) new JSONParser().parse(reader);
+        }
+        JSONArray consumers = new JSONArray();
+        consumers.addAll((JSONArray) ((JSONObject) game.get("initialData")).get("consumers"));
+        for (Object update : (JSONArray) game.get("monthlyUpdates")) {
+            consumers.addAll((JSONArray) ((JSONObject) update).get("newConsumers"));
+        }
+        for (Object object : consumers) {
+            JSONObject consumer = (JSONObject) object;
+            consumer.put("initialBudget", (long) consumer.get("initialBudget") / divisor);
+            consumer.put("monthlyIncome", (long) consumer.get("monthlyIncome") / divisor);
+        }
+        try (Writer writer = Files.newBufferedWriter(input)) {
+            game.writeJSONString(writer);
+        }
+        return input;
+    }
+
+    /**
+     * @return a new game runner, using the strategies factory instance
+     */
+    static GameRunner newRunner() {
+        return new GameRunner(EnergyChoiceStrategyFactory.getInstance());
+    }
+
+    /**
+     * Plays a game through the given runner and returns its output.
+     *
+     * @param runner of the game
+     * @param input  path of the input file
+     * @param output path of the output file
+     * @return the bytes of the output file
+     * @throws Exception the game could not be played
+     */
+    static byte[] play(final GameRunner runner, final Path input, final Path output)
+            throws Exception {
+        runner.run(input.toString(), output.toString());
+        return Files.readAllBytes(output);
+    }
+}
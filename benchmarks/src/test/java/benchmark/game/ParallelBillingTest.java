@@ -0,0 +1,41 @@
+package benchmark.game;
+
+import game.GameRunner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * The monthly payments computed in parallel give the same game as the sequential ones, over
+ * scenarios large enough to split the consumers into many words of the bankruptcy bitset and
+ * poor enough for many consumers to get into debt and go bankrupt.
+ */
+final class ParallelBillingTest {
+    private static final long[] SEEDS = {1, 2, 3}; // seeds of the scenarios played
+    private static final long DIVISOR = 8; // divisor of the consumers' budgets and incomes
+
+    /**
+     * Each scenario is played with sequential and parallel billing, the outputs being compared.
+     *
+     * @param directory temporary directory of the input and output files
+     * @throws Exception the files could not be written or a game could not be played
+     */
+    @Test
+    void parallelBillingMatchesSequential(@TempDir final Path directory) throws Exception {
+        for (long seed : SEEDS) {
+            Path input = Games.impoverish(Games.generate(directory.resolve(seed + ".json"),
+                    "consumers", "20000", "distributors", "25", "producers", "60",
+                    "turns", "24", "churn", "0.05", "seed", Long.toString(seed)), DIVISOR);
+            byte[] sequential = Games.play(Games.newRunner(), input,
+                    directory.resolve(seed + "-sequential.out"));
+            GameRunner parallel = Games.newRunner();
+            parallel.setParallelBilling(true);
+            assertArrayEquals(sequential, Games.play(parallel, input,
+                    directory.resolve(seed + "-parallel.out")), "seed " + seed);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package benchmark.game;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+/**
+ * Every generated scenario can be played to the end, whatever its seed and its numbers of
+ * distributors and producers, including scenarios with fewer producers than the suppliers a
+ * distributor may need.
+ */
+final class ScenarioGeneratorTest {
+    private static final int SEEDS = 50; // seeds of the scenarios played
+    private static final int[] DISTRIBUTORS = {1, 4, 15, 40}; // distributors of the scenarios
+    private static final int[] PRODUCERS = {1, 3, 11, 30}; // producers of the scenarios
+
+    /**
+     * Generated scenarios are played, the first error of a game failing the test.
+     *
+     * @param directory temporary directory of the input and output files
+     * @throws Exception the files could not be written or a game could not be played
+     */
+    @Test
+    void generatedScenariosArePlayable(@TempDir final Path directory) throws Exception {
+        for (int seed = 0; seed < SEEDS; ++seed) {
+            String distributors = Integer.toString(DISTRIBUTORS[seed % DISTRIBUTORS.length]);
+            String producers = Integer.toString(PRODUCERS[seed / DISTRIBUTORS.length
+                    % PRODUCERS.length]);
+            Path input = Games.generate(directory.resolve(seed + ".json"),
+                    "consumers", "200", "distributors", distributors, "producers", producers,
+                    "turns", "6", "churn", "0.3", "seed", Integer.toString(seed));
+            Games.play(Games.newRunner(), input, directory.resolve(seed + ".out"));
+        }
+    }
+}
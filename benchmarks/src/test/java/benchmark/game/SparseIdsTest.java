@@ -0,0 +1,111 @@
+package benchmark.game;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The entities are found by their ids, whatever their values: a game whose ids are spread over
+ * the whole range of longs, far beyond the positions of the entities and beyond the integers
+ * held exactly by a double, gives the same output as the game with the ids 0, 1, 2..., once the
+ * ids of the latter are spread the same way.
+ */
+@SuppressWarnings("unchecked")
+final class SparseIdsTest {
+    private static final long FIRST_ID = 1_152_921_504_606_846_976L; // id of the entities of id 0
+    private static final long STRIDE = 1_000_003; // distance between two consecutive ids
+    private static final long DIVISOR = 8; // divisor of the consumers' budgets and incomes
+    // keys of the ids of the input file
+    private static final Set<String> INPUT_KEYS = Set.of("id");
+    // keys of the ids and of the arrays of ids of the output file
+    private static final Set<String> OUTPUT_KEYS = Set.of("id", "consumerId", "distributorsIds");
+
+    /**
+     * Spreads an id, keeping the order of the ids. Private method designed for the current
+     * class.
+     *
+     * @param id of an entity of the dense game
+     * @return the id of the same entity in the sparse game
+     */
+    private static long spread(final long id) {
+        return FIRST_ID + id * STRIDE;
+    }
+
+    /**
+     * Spreads all the ids found in a json value under the given keys, whether the value of the
+     * key is an id or an array of ids. Private method designed for the current class.
+     *
+     * @param value json value, modified in place
+     * @param keys  of the ids
+     */
+    private static void spreadIds(final Object value, final Set<String> keys) {
+        if (value instanceof JSONArray array) {
+            for (Object element : array) {
+                spreadIds(element, keys);
+            }
+        } else if (value instanceof JSONObject object) {
+            for (Map.Entry<Object, Object> entry
+                    : (Iterable<Map.Entry<Object, Object>>) object.entrySet()) {
+                if (!keys.contains(entry.getKey())) {
+                    spreadIds(entry.getValue(), keys);
+                } else if (entry.getValue() instanceof JSONArray ids) {
+                    ids.replaceAll(id -> spread((long) id));
+                } else {
+                    entry.setValue(spread((long) entry.getValue()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses a json file. Private method designed for the current class.
+     *
+     * @param path of the json file
+     * @return the root object of the file
+     * @throws Exception the file could not be read or is not a valid json
+     */
+    private static JSONObject parse(final Path path) throws Exception {
+        try (Reader reader = Files.newBufferedReader(path)) {
+            return (JSONObject) new JSONParser().parse(reader);
+        }
+    }
+
+    /**
+     * A generated scenario is played with its dense ids and with spread ids, the outputs being
+     * compared once the ids of the first one are spread too.
+     *
+     * @param directory temporary directory of the input and output files
+     * @throws Exception the files could not be written or a game could not be played
+     */
+    @Test
+    void sparseIdsMatchDenseIds(@TempDir final Path directory) throws Exception {
+        Path dense = Games.impoverish(Games.generate(directory.resolve("dense.json"),
+                "consumers", "5000", "distributors", "15", "producers", "40",
+                "turns", "12", "churn", "0.05", "seed", "21"), DIVISOR);
+        JSONObject game = parse(dense);
+        spreadIds(game, INPUT_KEYS);
+        Path sparse = directory.resolve("sparse.json");
+        try (Writer writer = Files.newBufferedWriter(sparse)) {
+            game.writeJSONString(writer);
+        }
+        Path denseOutput = directory.resolve("dense.out");
+        Path sparseOutput = directory.resolve("sparse.out");
+        Games.play(Games.newRunner(), dense, denseOutput);
+        Games.play(Games.newRunner(), sparse, sparseOutput);
+        JSONObject expected = parse(denseOutput);
+        spreadIds(expected, OUTPUT_KEYS);
+        assertEquals(expected, parse(sparseOutput));
+    }
+}
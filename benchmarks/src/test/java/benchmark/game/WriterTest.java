@@ -0,0 +1,146 @@
+package benchmark.game;
+
+import consumer.Consumer;
+import consumer.ConsumersDB;
+
+import distributor.Distributor;
+import distributor.DistributorsDB;
+
+import fileio.Checkpoint;
+import fileio.Writer;
+
+import game.GameRunner;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import producer.DistributorsHistory;
+import producer.Producer;
+import producer.ProducersDB;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * The streaming writer gives the same output file as the former writer, which built the json
+ * objects of the whole output and wrote them at once. The state written is the one of the last
+ * checkpoint of a finished game.
+ */
+@SuppressWarnings("unchecked")
+final class WriterTest {
+    private static final int TURNS = 12; // turns of the scenario played
+    private static final long DIVISOR = 8; // divisor of the consumers' budgets and incomes
+
+    /**
+     * Builds the json objects of the whole output, the way the former writer did. Private
+     * method designed for the current class.
+     *
+     * @param consumersDatabase    database of all consumers left in game
+     * @param distributorsDatabase database of all distributors left in game
+     * @param producersDatabase    database of all producers left in game
+     * @param numberOfTurns        total number of turns of the game
+     * @return the output object
+     */
+    private static JSONObject jsonOutput(final ConsumersDB consumersDatabase,
+                                         final DistributorsDB distributorsDatabase,
+                                         final ProducersDB producersDatabase,
+                                         final long numberOfTurns) {
+        JSONArray consumersOutput = new JSONArray();
+        for (Consumer c : consumersDatabase.getConsumers()) {
+            JSONObject consumerOutput = new JSONObject();
+            consumerOutput.put("id", c.getId());
+            consumerOutput.put("isBankrupt", c.isBankrupt());
+            consumerOutput.put("budget", c.getBudget());
+            consumersOutput.add(consumerOutput);
+        }
+        JSONArray distributorsOutput = new JSONArray();
+        for (Distributor d : distributorsDatabase.getDistributors()) {
+            JSONObject distributorOutput = new JSONObject();
+            distributorOutput.put("id", d.getId());
+            distributorOutput.put("energyNeededKW", d.getEnergyNeededKW());
+            distributorOutput.put("contractCost", d.getMonthlyRate());
+            distributorOutput.put("budget", d.getBudget());
+            distributorOutput.put("producerStrategy", d.getProducerStrategy().getLabel());
+            distributorOutput.put("isBankrupt", d.isBankrupt());
+            JSONArray contracts = new JSONArray();
+            for (Consumer c : d.getClients()) {
+                JSONObject client = new JSONObject();
+                client.put("consumerId", c.getId());
+                client.put("price", c.getContract().getMonthlyRate());
+                client.put("remainedContractMonths", c.getContract().getLength());
+                contracts.add(client);
+            }
+            distributorOutput.put("contracts", contracts);
+            distributorsOutput.add(distributorOutput);
+        }
+        JSONArray producersOutput = new JSONArray();
+        for (Producer p : producersDatabase.getProducers()) {
+            JSONObject producerOutput = new JSONObject();
+            producerOutput.put("id", p.getId());
+            producerOutput.put("maxDistributors", p.getMaxDistributors());
+            producerOutput.put("priceKW", p.getPriceKW());
+            producerOutput.put("energyType", p.getEnergyType().getLabel());
+            producerOutput.put("energyPerDistributor", p.getEnergyPerDistributor());
+            JSONArray monthlyStats = new JSONArray();
+            DistributorsHistory history = p.getAllDistributors();
+            for (long i = 1; i <= numberOfTurns; ++i) {
+                JSONObject month = new JSONObject();
+                month.put("month", i);
+                JSONArray distributorsIds = new JSONArray();
+                int snapshot = history.getSnapshot((int) (i - 1));
+                int size = snapshot < 0 ? 0 : history.getSnapshotSize(snapshot);
+                for (int position = 0; position < size; ++position) {
+                    distributorsIds.add(history.getId(snapshot, position));
+                }
+                distributorsIds.sort(Comparator.comparingLong(x -> (long) x));
+                month.put("distributorsIds", distributorsIds);
+                monthlyStats.add(month);
+            }
+            producerOutput.put("monthlyStats", monthlyStats);
+            producersOutput.add(producerOutput);
+        }
+        JSONObject output = new JSONObject();
+        output.put("consumers", consumersOutput);
+        output.put("distributors", distributorsOutput);
+        output.put("energyProducers", producersOutput);
+        return output;
+    }
+
+    /**
+     * A generated game is played to the end, writing a checkpoint after its last turn, and the
+     * state restored from the checkpoint is written by both writers.
+     *
+     * @param directory temporary directory of the input, checkpoint and output files
+     * @throws Exception the files could not be written or the game could not be played
+     */
+    @Test
+    void streamingWriterMatchesJsonObjects(@TempDir final Path directory) throws Exception {
+        Path input = Games.impoverish(Games.generate(directory.resolve("input.json"),
+                "consumers", "5000", "distributors", "15", "producers", "40",
+                "turns", Integer.toString(TURNS), "churn", "0.05", "seed", "31"), DIVISOR);
+        Path checkpointPath = directory.resolve("game.ckpt");
+        GameRunner runner = Games.newRunner();
+        runner.setCheckpoint(checkpointPath.toString(), TURNS);
+        byte[] played = Games.play(runner, input, directory.resolve("played.out"));
+
+        Checkpoint checkpoint = Checkpoint.load(checkpointPath.toString());
+        Path written = directory.resolve("written.out");
+        try (Writer writer = new Writer(written.toString())) {
+            writer.writeData(checkpoint.getConsumersDatabase(),
+                    checkpoint.getDistributorsDatabase(), checkpoint.getProducersDatabase(),
+                    TURNS);
+        }
+        byte[] expected = jsonOutput(checkpoint.getConsumersDatabase(),
+                checkpoint.getDistributorsDatabase(), checkpoint.getProducersDatabase(), TURNS)
+                .toJSONString().getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, Files.readAllBytes(written));
+        assertArrayEquals(expected, played);
+    }
+}
@@ -0,0 +1,124 @@
+package benchmark.producer;
+
+import distributor.Distributor;
+
+import fileio.BinaryInput;
+import fileio.BinaryOutput;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import producer.DistributorsHistory;
+
+import strategies.EnergyChoiceStrategyType;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * The history rebuilds the distributors of every month from its full snapshots and deltas,
+ * whatever the order in which the months are read, including after being saved to a checkpoint
+ * and loaded back.
+ */
+final class DistributorsHistoryTest {
+    private static final int MONTHS = 200; // months recorded, spanning many full snapshots
+    private static final int DISTRIBUTORS = 60; // distributors that may be supplied
+    private static final int CHANGE_ODDS = 4; // one month out of these keeps its distributors
+    private static final int MAX_CHANGES = 6; // most distributors joining or leaving in a month
+    private static final long ID_STRIDE = 1_000_003; // distance between two consecutive ids
+    private static final int RESET_INTERVAL = 50; // months between two complete changes
+
+    /**
+     * Returns the ids of a month rebuilt by the history. Private method designed for the
+     * current class.
+     *
+     * @param history of the distributors
+     * @param month   turn of the game
+     * @return the sorted ids of the month
+     */
+    private static long[] idsOf(final DistributorsHistory history, final int month) {
+        int snapshot = history.getSnapshot(month);
+        int size = snapshot < 0 ? 0 : history.getSnapshotSize(snapshot);
+        long[] ids = new long[size];
+        for (int i = 0; i < size; ++i) {
+            ids[i] = history.getId(snapshot, i);
+        }
+        return ids;
+    }
+
+    /**
+     * Verifies the ids of all the months, in ascending order and in random order. Private
+     * method designed for the current class.
+     *
+     * @param history  of the distributors
+     * @param expected sorted ids of each month
+     * @param random   generator of the order of the months
+     */
+    private static void check(final DistributorsHistory history, final List<long[]> expected,
+                              final Random random) {
+        for (int month = 0; month < MONTHS; ++month) {
+            assertArrayEquals(expected.get(month), idsOf(history, month), "month " + month);
+        }
+        for (int i = 0; i < MONTHS; ++i) {
+            int month = random.nextInt(MONTHS);
+            assertArrayEquals(expected.get(month), idsOf(history, month), "month " + month);
+        }
+    }
+
+    /**
+     * Random months, whose distributors join and leave a few at a time or all change at once,
+     * are recorded and read back, before and after a checkpoint.
+     *
+     * @param directory temporary directory of the checkpoint file
+     * @throws Exception the checkpoint could not be written or read
+     */
+    @Test
+    void rebuildsEveryMonth(@TempDir final Path directory) throws Exception {
+        Random random = new Random(1);
+        List<Distributor> distributors = new ArrayList<>();
+        for (long i = 0; i < DISTRIBUTORS; ++i) {
+            distributors.add(new Distributor(i * ID_STRIDE, 1, 0, 0, 1,
+                    EnergyChoiceStrategyType.PRICE));
+        }
+        DistributorsHistory history = new DistributorsHistory();
+        List<long[]> expected = new ArrayList<>();
+        TreeSet<Distributor> supplied = new TreeSet<>((a, b) -> Long.compare(a.getId(),
+                b.getId()));
+        for (int month = 0; month < MONTHS; ++month) {
+            if (month > 0 && month % RESET_INTERVAL == 0) {
+                supplied.clear(); // all the distributors change at once
+            }
+            if (random.nextInt(CHANGE_ODDS) != 0) {
+                for (int i = random.nextInt(MAX_CHANGES); i >= 0; --i) {
+                    Distributor distributor = distributors.get(random.nextInt(DISTRIBUTORS));
+                    if (!supplied.remove(distributor)) {
+                        supplied.add(distributor);
+                    }
+                }
+            }
+            history.record(month, supplied);
+            expected.add(supplied.stream().mapToLong(Distributor::getId).toArray());
+        }
+        check(history, expected, random);
+
+        Path checkpoint = directory.resolve("history.ckpt");
+        try (BinaryOutput out = new BinaryOutput(checkpoint)) {
+            history.save(out);
+        }
+        DistributorsHistory loaded = new DistributorsHistory();
+        try (BinaryInput in = new BinaryInput(checkpoint)) {
+            loaded.load(in);
+        }
+        check(loaded, expected, random);
+        // the loaded history keeps recording from its last snapshot
+        supplied.add(distributors.get(0));
+        loaded.record(MONTHS, supplied);
+        history.record(MONTHS, supplied);
+        assertArrayEquals(idsOf(history, MONTHS), idsOf(loaded, MONTHS));
+    }
+}
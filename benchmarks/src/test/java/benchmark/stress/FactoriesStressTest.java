@@ -0,0 +1,250 @@
+package benchmark.stress;
+
+import consumer.Consumer;
+import consumer.ConsumersDB;
+
+import distributor.Distributor;
+
+import entities.EnergyType;
+import entities.EntitiesFactory;
+import entities.EntityType;
+
+import fileio.ScenarioGenerator;
+
+import game.BatchRunner;
+import game.ScenarioRun;
+
+import org.json.simple.JSONObject;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+
+import producer.Producer;
+import producer.ProducersDB;
+
+import strategies.EnergyChoiceStrategyFactory;
+import strategies.EnergyChoiceStrategyType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Concurrency stress tests of the singleton factories. Many threads are released at once, so
+ * their first calls of getInstance race each other, and afterwards create entities and
+ * strategies from the shared factories; then the same game is played by several runners at
+ * once, whose outputs must be identical.
+ */
+@SuppressWarnings("unchecked")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+final class FactoriesStressTest {
+    private static final int THREADS = 32; // threads using the factories at once
+    private static final int ROUNDS = 2000; // entities of each type created by a thread
+    private static final int STRATEGY_ROUNDS = 50; // databases of producers used by a thread
+    private static final int PRODUCERS = 40; // producers of each database
+    private static final long ENERGY_NEEDED = 2500; // energy needed by the distributor
+    private static final long ENERGY_UNIT = 100; // step of the energies of the producers
+    private static final int PRICES = 7; // distinct prices of the producers
+    private static final int ENERGIES = 5; // distinct energies of the producers
+    private static final int GAMES = 8; // games played at once from the same input file
+
+    /**
+     * Runs a task on many threads released at the same time and returns their results, the
+     * first error of a thread failing the test. Private method designed for the current class.
+     *
+     * @param task to be run by each thread, receiving the index of the thread
+     * @param <T>  type of the results
+     * @return the results of the threads, in the order of their indexes
+     * @throws Exception the task failed on one of the threads
+     */
+    private static <T> List<T> runAtOnce(final java.util.function.IntFunction<T> task)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; ++i) {
+                final int thread = i;
+                Callable<T> call = () -> {
+                    start.await();
+                    return task.apply(thread);
+                };
+                futures.add(executor.submit(call));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    // failed assertions are reported as they were thrown by the thread
+                    if (e.getCause() instanceof Error error) {
+                        throw error;
+                    }
+                    throw e;
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates the input data of an entity. Private method designed for the current class.
+     *
+     * @param keysAndValues keys of the entity, each followed by its value
+     * @return the json object of the entity
+     */
+    private static JSONObject entity(final Object... keysAndValues) {
+        JSONObject entity = new JSONObject();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            entity.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return entity;
+    }
+
+    /**
+     * Creates entities of every type through the factory and checks their fields. Private
+     * method designed for the current class.
+     *
+     * @param factory of entities
+     * @param thread  index of the thread, part of the ids
+     */
+    private static void createEntities(final EntitiesFactory factory, final int thread) {
+        ConsumersDB consumersDatabase = new ConsumersDB();
+        for (long i = 0; i < ROUNDS; ++i) {
+            long id = (long) thread * ROUNDS + i;
+            Consumer consumer = factory.createConsumer(
+                    entity("id", id, "initialBudget", i, "monthlyIncome", id), consumersDatabase);
+            assertEquals(id, consumer.getId());
+            assertEquals(i, consumer.getBudget());
+            assertEquals(id, consumer.getMonthlyIncome());
+            Consumer standalone = (Consumer) factory.createEntity(EntityType.CONSUMER,
+                    entity("id", id, "initialBudget", i, "monthlyIncome", id));
+            consumersDatabase.addConsumer(standalone);
+            assertEquals(i, standalone.getBudget());
+            assertEquals(id, standalone.getMonthlyIncome());
+            Distributor distributor = (Distributor) factory.createEntity(EntityType.DISTRIBUTOR,
+                    entity("id", id, "contractLength", i, "initialBudget", id,
+                            "initialInfrastructureCost", i, "energyNeededKW", id,
+                            "producerStrategy", "PRICE"));
+            assertEquals(id, distributor.getId());
+            assertEquals(i, distributor.getContractLength());
+            assertEquals(id, distributor.getBudget());
+            assertSame(EnergyChoiceStrategyType.PRICE, distributor.getProducerStrategy());
+            Producer producer = (Producer) factory.createEntity(EntityType.PRODUCER,
+                    entity("id", id, "energyType", "WIND", "maxDistributors", i,
+                            "priceKW", (double) i, "energyPerDistributor", id));
+            assertEquals(id, producer.getId());
+            assertSame(EnergyType.WIND, producer.getEnergyType());
+            assertEquals(i, producer.getMaxDistributors());
+            assertEquals(i, producer.getPriceKW());
+        }
+    }
+
+    /**
+     * Chooses the suppliers of a distributor with every strategy, each time from a new
+     * database of producers, since choosing suppliers modifies the producers. Private method
+     * designed for the current class.
+     *
+     * @param entitiesFactory   factory of entities
+     * @param strategiesFactory factory of strategies
+     * @return the ids of the suppliers chosen by each strategy, in the order of the strategies
+     */
+    private static long[][] chooseSuppliers(final EntitiesFactory entitiesFactory,
+                                            final EnergyChoiceStrategyFactory strategiesFactory) {
+        EnergyChoiceStrategyType[] types = EnergyChoiceStrategyType.values();
+        long[][] suppliers = new long[types.length][];
+        EnergyType[] energyTypes = EnergyType.values();
+        for (int t = 0; t < types.length; ++t) {
+            List<Producer> producers = new ArrayList<>();
+            for (long i = 0; i < PRODUCERS; ++i) {
+                producers.add((Producer) entitiesFactory.createEntity(EntityType.PRODUCER,
+                        entity("id", i, "energyType",
+                                energyTypes[(int) i % energyTypes.length].name(),
+                                "maxDistributors", PRODUCERS - i,
+                                "priceKW", (double) (i % PRICES),
+                                "energyPerDistributor", ENERGY_UNIT * (i % ENERGIES + 1))));
+            }
+            Distributor distributor = (Distributor) entitiesFactory.createEntity(
+                    EntityType.DISTRIBUTOR, entity("id", 0L, "contractLength", 1L,
+                            "initialBudget", 0L, "initialInfrastructureCost", 0L,
+                            "energyNeededKW", ENERGY_NEEDED, "producerStrategy",
+                            types[t].name()));
+            List<Producer> chosen = strategiesFactory.createStrategy(types[t],
+                    new ProducersDB(producers), distributor).getEnergyProducers();
+            suppliers[t] = chosen.stream().mapToLong(Producer::getId).toArray();
+        }
+        return suppliers;
+    }
+
+    /**
+     * The threads racing on the first calls of getInstance all get the same factories, which
+     * create the same entities and strategies on every thread.
+     *
+     * @throws Exception the task failed on one of the threads
+     */
+    @Test
+    @Order(1)
+    void factoriesSharedByManyThreads() throws Exception {
+        List<Object[]> results = runAtOnce(thread -> {
+            // the first calls of all the threads race each other
+            EntitiesFactory entitiesFactory = EntitiesFactory.getInstance();
+            EnergyChoiceStrategyFactory strategiesFactory =
+                    EnergyChoiceStrategyFactory.getInstance();
+            createEntities(entitiesFactory, thread);
+            long[][] suppliers = null;
+            for (int round = 0; round < STRATEGY_ROUNDS; ++round) {
+                suppliers = chooseSuppliers(EntitiesFactory.getInstance(),
+                        EnergyChoiceStrategyFactory.getInstance());
+            }
+            return new Object[]{entitiesFactory, strategiesFactory, suppliers};
+        });
+        Object[] first = results.get(0);
+        for (Object[] result : results) {
+            assertSame(first[0], result[0]);
+            assertSame(first[1], result[1]);
+            assertArrayEquals((long[][]) first[2], (long[][]) result[2]);
+        }
+    }
+
+    /**
+     * The same game played by several runners at once, sharing the factories, gives the same
+     * output every time.
+     *
+     * @param directory temporary directory of the input and output files
+     * @throws Exception the files could not be written or a game could not be played
+     */
+    @Test
+    @Order(2)
+    void gamesPlayedAtOnce(@TempDir final Path directory) throws Exception {
+        String input = directory.resolve("input.json").toString();
+        new ScenarioGenerator().generate(input);
+        List<ScenarioRun> scenarios = new ArrayList<>();
+        for (int i = 0; i < GAMES; ++i) {
+            scenarios.add(new ScenarioRun(input, directory.resolve(i + ".json").toString()));
+        }
+        new BatchRunner(GAMES, EnergyChoiceStrategyFactory.getInstance()).run(scenarios);
+        byte[] expected = Files.readAllBytes(Path.of(scenarios.get(0).getOutputPath()));
+        for (ScenarioRun scenario : scenarios) {
+            assertFalse(scenario.isFailed(), scenario::getError);
+            assertArrayEquals(expected, Files.readAllBytes(Path.of(scenario.getOutputPath())));
+        }
+    }
+}
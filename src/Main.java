@@ -1,32 +1,17 @@
-import java.io.FileReader;
+import java.util.concurrent.ForkJoinPool;
 
-import consumer.ConsumersDB;
+import game.GameRunner;
+import game.Utils;
 
-import distributor.DistributorsDB;
-
-import entities.EntitiesFactory;
-
-import fileio.LoadConsumers;
-import fileio.LoadDistributors;
-import fileio.LoadProducers;
-import fileio.Writer;
-
-import game.Game;
-import game.InitialMonth;
-import game.TurnMonth;
-
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-
-import producer.ProducersDB;
+import metrics.FileMetricsListener;
+import metrics.MetricsListener;
+import metrics.PhaseTimer;
 
 import strategies.EnergyChoiceStrategyFactory;
 
 /**
  * Entry point of the simulation.
  */
-@SuppressWarnings("deprecation")
 public final class Main {
 
     private Main() {
@@ -39,57 +24,44 @@ public final class Main {
      * @throws Exception might error when reading/writing/opening files, parsing JSON
      */
     public static void main(final String[] args) throws Exception {
-        JSONParser jsonParser = new JSONParser(); // parser object used for reading
-        // json object used for parsing the input file found in args[0]
-        JSONObject jsonObject = (JSONObject) jsonParser.parse(new FileReader(args[0]));
-
-        // number of turns extracted from input file
-        long numberOfTurns = (long) jsonObject.get("numberOfTurns");
-        // initial data set extracted from input file
-        JSONObject initialData = (JSONObject) jsonObject.get("initialData");
-        // monthly updates set extracted from input file
-        JSONArray monthlyUpdates = (JSONArray) jsonObject.get("monthlyUpdates");
-
-        // entities factory instance
-        EntitiesFactory entitiesFactory = EntitiesFactory.getInstance();
-
-        // array of producers loaded from initial data set
-        LoadProducers loadedProducers = new LoadProducers(initialData, entitiesFactory);
-        // array of consumers loaded from initial data set
-        LoadConsumers loadedConsumers = new LoadConsumers(initialData, entitiesFactory);
-        // array of distributors loaded from initial data set
-        LoadDistributors loadedDistributors = new LoadDistributors(initialData, entitiesFactory);
-
-        // consumers database created with the consumers given through input file
-        ConsumersDB consumersDatabase = new ConsumersDB(loadedConsumers.getLoadedConsumers());
-        // distributors database created with the distributors given through input file
-        DistributorsDB distributorsDatabase =
-                new DistributorsDB(loadedDistributors.getLoadedDistributors());
-        // producers database created with the producers given through input file
-        ProducersDB producersDatabase = new ProducersDB(loadedProducers.getLoadedProducers());
-
-        // strategies factory instance
-        EnergyChoiceStrategyFactory choiceStrategyFactory =
-                EnergyChoiceStrategyFactory.getInstance();
-
-        // initial month object of the game
-        Game initialMonthGame = new InitialMonth(consumersDatabase, producersDatabase,
-                distributorsDatabase, choiceStrategyFactory);
-        initialMonthGame.playGame(); // updates the entities based on first month rules
-
-        // for each turn of the game, a new update is extracted from the input file and
-        // accordingly are added new consumers and changed the game's data
-        for (int i = 0; i < numberOfTurns; ++i) {
-            JSONObject update = (JSONObject) monthlyUpdates.get(i);
-            // current month object of the game
-            Game turnMonth = new TurnMonth(consumersDatabase, producersDatabase,
-                    distributorsDatabase, update, choiceStrategyFactory, entitiesFactory, i);
-            turnMonth.playGame(); // updates the entities based on the rules of a new turn
+        // the phases of the game are measured when a metrics file is given through -Dmetrics
+        String metricsPath = System.getProperty(Utils.METRICS);
+        MetricsListener metricsListener = metricsPath == null ? MetricsListener.NONE
+                : new FileMetricsListener(metricsPath);
+        PhaseTimer timer = metricsListener == MetricsListener.NONE ? PhaseTimer.NONE
+                : new PhaseTimer(metricsListener);
+
+        // runner of the game, using the strategies factory instance
+        GameRunner gameRunner = new GameRunner(EnergyChoiceStrategyFactory.getInstance());
+        gameRunner.setPhaseTimer(timer);
+        // the monthly payments are computed in parallel when requested through -DparallelBilling
+        gameRunner.setParallelBilling(Boolean.getBoolean(Utils.PARALLEL_BILLING));
+        // the distributors are settled in parallel when more threads are requested through
+        // -DsettlementThreads
+        int settlementThreads = Integer.getInteger(Utils.SETTLEMENT_THREADS, 1);
+        ForkJoinPool settlementPool = settlementThreads > 1
+                ? new ForkJoinPool(settlementThreads) : null;
+        gameRunner.setSettlementPool(settlementPool);
+        // a checkpoint is written every few turns when a checkpoint file is given through
+        // -Dcheckpoint, the number of turns between two checkpoints being -DcheckpointInterval
+        gameRunner.setCheckpoint(System.getProperty(Utils.CHECKPOINT),
+                Integer.getInteger(Utils.CHECKPOINT_INTERVAL, 1));
+        // the game is resumed from the checkpoint file given through -Dresume
+        gameRunner.setResumePath(System.getProperty(Utils.RESUME));
+
+        // plays the game found in the input file args[0] and displays the results in the
+        // output file args[1]; the metrics file and the settlement pool are released even when
+        // the game fails
+        try {
+            gameRunner.run(args[0], args[1]);
+        } finally {
+            try {
+                metricsListener.close();
+            } finally {
+                if (settlementPool != null) {
+                    settlementPool.shutdown();
+                }
+            }
         }
-
-        // the writer object used for displaying the results in the output file found in args[1]
-        Writer outfile = new Writer(args[1]);
-        outfile.writeData(consumersDatabase, distributorsDatabase, producersDatabase,
-                numberOfTurns);
     }
 }
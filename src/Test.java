@@ -115,6 +115,9 @@ public final class Test {
 
     private static final int MAX_MILLISECONDS_PER_TEST = 1000;
 
+    // pool running the tests, whose threads are reused from one test to the next
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool();
+
     private static int score = 0;
     private static int totalScore = 0;
 
@@ -218,13 +221,12 @@ public final class Test {
     }
 
     private static Future<Object> createTimerTask(final String[] argv) {
-        ExecutorService executor = Executors.newCachedThreadPool();
         Callable<Object> task = () -> {
             Main.main(argv);
             return null;
         };
 
-        return executor.submit(task);
+        return EXECUTOR.submit(task);
     }
 
     private static String[] createTestArgv(final File testFile) {
@@ -4,36 +4,75 @@ import entities.Entity;
 
 import org.json.simple.JSONObject;
 
-@SuppressWarnings("deprecation")
+/**
+ * View over the position of a consumer in a columnar consumers store. The consumers loaded by a
+ * database are created straight into its store, while a consumer created on his own from input
+ * data owns a store of his own until he is moved into the store of a database. The contract is
+ * a view over the same position, created once with the consumer.
+ */
 public final class Consumer extends Entity {
-    protected final long monthlyIncome; // monthly income of a consumer
-    protected final Contract contract; // contract signed by a consumer with a distributor
-    protected long budget; // monthly budget of a consumer
-    protected boolean bankrupt; // bankruptcy status of a consumer
+    protected ConsumersStore store; // store holding the fields of a consumer
+    protected int index; // position of a consumer in the store
+    protected final Contract contract; // view over the contract columns of a consumer
 
     /**
-     * Class constructor with one parameter.
+     * Class constructor with one parameter, the consumer owning a store of his own until he is
+     * added to a database.
      *
      * @param consumer to be added, extracted from input data
      */
     public Consumer(final JSONObject consumer) {
         super(consumer); // super constructor call
-        budget = (long) consumer.get("initialBudget");
-        monthlyIncome = (long) consumer.get("monthlyIncome");
-        bankrupt = false;
-        contract = new Contract();
+        store = new ConsumersStore(1);
+        index = store.add((long) consumer.get("initialBudget"),
+                (long) consumer.get("monthlyIncome"));
+        contract = new Contract(this);
+    }
+
+    /**
+     * Class constructor with three parameters, used by the database once the fields of the
+     * consumer were added to its store.
+     *
+     * @param id    of the consumer
+     * @param store holding the fields of the consumer
+     * @param index position of the consumer in the store
+     */
+    Consumer(final long id, final ConsumersStore store, final int index) {
+        super(id); // super constructor call
+        this.store = store;
+        this.index = index;
+        contract = new Contract(this);
+    }
+
+    /**
+     * Moves the fields of the consumer at the end of the given store, the consumer becoming a
+     * view over its new position.
+     *
+     * @param target store receiving the consumer
+     */
+    void moveTo(final ConsumersStore target) {
+        index = target.copy(store, index);
+        store = target;
+    }
+
+    /**
+     * @return the position of the consumer in the store of the database, the same as in the
+     * database's list of consumers
+     */
+    public int getIndex() {
+        return index;
     }
 
     public long getMonthlyIncome() {
-        return monthlyIncome;
+        return store.monthlyIncome[index];
     }
 
     public long getBudget() {
-        return budget;
+        return store.budget[index];
     }
 
     public boolean isBankrupt() {
-        return bankrupt;
+        return store.isBankrupt(index);
     }
 
     public Contract getContract() {
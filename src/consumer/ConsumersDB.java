@@ -3,21 +3,77 @@ package consumer;
 import distributor.Distributor;
 import distributor.DistributorsDB;
 
+import fileio.BinaryInput;
+import fileio.BinaryOutput;
+
 import game.Utils;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 public final class ConsumersDB {
     private final List<Consumer> consumers; // list of all consumers
+    // columnar store of the consumers' fields, in the order of the list
+    private final ConsumersStore store;
+    private boolean parallelBilling; // whether the monthly payments are computed in parallel
+    private long renewedContracts; // number of contracts renewed in the last month
+    private long newBankruptcies; // number of consumers declared bankrupt in the last month
+
+    /**
+     * Class constructor without parameters, the consumers being added afterwards.
+     */
+    public ConsumersDB() {
+        this(new ArrayList<>(), new ConsumersStore(0));
+    }
 
     /**
-     * Class constructor with one parameter.
+     * Class constructor with one parameter, the fields of the consumers being moved into the
+     * columnar store of the database.
      *
      * @param consumers to be added to the database list
      */
     public ConsumersDB(final List<Consumer> consumers) {
-        this.consumers = new ArrayList<>(consumers);
+        this(new ArrayList<>(consumers.size()), new ConsumersStore(consumers.size()));
+        consumers.forEach(this::addConsumer);
+    }
+
+    /**
+     * Class constructor with two parameters, also used when restoring the database from a
+     * checkpoint. Private method designed for the current class.
+     *
+     * @param consumers views over the positions of the store, in order
+     * @param store     holding the fields of the consumers
+     */
+    private ConsumersDB(final List<Consumer> consumers, final ConsumersStore store) {
+        this.consumers = consumers;
+        this.store = store;
+    }
+
+    /**
+     * Adds a consumer created on his own to the database, moving his fields into the columnar
+     * store.
+     *
+     * @param consumer to be added to the database
+     */
+    public void addConsumer(final Consumer consumer) {
+        consumer.moveTo(store);
+        consumers.add(consumer);
+    }
+
+    /**
+     * Adds a consumer to the database, writing his fields straight into the columnar store.
+     *
+     * @param id            of the new consumer
+     * @param initialBudget budget of the consumer when he enters the game
+     * @param income        monthly income of the consumer
+     * @return the new consumer
+     */
+    public Consumer addConsumer(final long id, final long initialBudget, final long income) {
+        Consumer consumer = new Consumer(id, store, store.add(initialBudget, income));
+        consumers.add(consumer);
+        return consumer;
     }
 
     /**
@@ -32,7 +88,7 @@ public final class ConsumersDB {
         Distributor preferredDistributor = distributorsDatabase.getMinPrice();
 
         for (Consumer consumer : consumers) {
-            consumer.contract.updateContract(preferredDistributor); // sets the new contracts
+            consumer.getContract().updateContract(preferredDistributor); // sets the new contracts
         }
     }
 
@@ -42,59 +98,196 @@ public final class ConsumersDB {
      * chosen, otherwise the contract continues without being updated. If a consumer does not
      * afford the monthly rate, a remaining debt will be set consequently. If a consumer is
      * already in debt, without being able to pay the remaining sum and the new month, he will be
-     * declared bankrupt and excluded from the game.
+     * declared bankrupt and excluded from the game. The renewals of the expired contracts are
+     * made in order, since they modify the distributors' lists of clients, while the payments
+     * only depend on each consumer and may run in parallel.
      *
      * @param distributorsDatabase the database of all distributors used for calculating the lowest
      *                             monthly rate of a new contract
      */
     public void updateConsumers(final DistributorsDB distributorsDatabase) {
-        long newBudget; // updated budget of a consumer
-        for (Consumer consumer : consumers) {
-            if (consumer.isBankrupt()) { // bankrupt consumers are not updated anymore
-                continue;
-            }
-
+        renewedContracts = 0;
+        for (int i = 0; i < store.size; ++i) {
             // if a consumer reaches the end of contract, he will choose a new contract with the
-            // lowest monthly rate
-            if (consumer.contract.length == 0) {
+            // lowest monthly rate; bankrupt consumers are not updated anymore
+            if (!store.isBankrupt(i) && store.length[i] == 0) {
+                Consumer consumer = consumers.get(i);
                 // the distributor with the smallest requested monthly rate
                 Distributor preferredDistributor = distributorsDatabase.getMinPrice();
-                consumer.contract.updateContract(preferredDistributor); // updates the contract
+                consumer.getContract().updateContract(preferredDistributor); // updates the contract
                 // adds the consumer to the new distributor's list of clients
-                preferredDistributor.getClients().add(consumer);
+                preferredDistributor.addClient(consumer);
+                renewedContracts++;
             }
+        }
+
+        // the payments are split by the words of the bankruptcy bitset, so that parallel
+        // payments never modify the same word
+        int words = (store.size + ConsumersStore.WORD_SIZE - 1) / ConsumersStore.WORD_SIZE;
+        if (parallelBilling) {
+            newBankruptcies = IntStream.range(0, words).parallel().map(this::payMonthlyRates).sum();
+        } else {
+            newBankruptcies = 0;
+            for (int word = 0; word < words; ++word) {
+                newBankruptcies += payMonthlyRates(word);
+            }
+        }
+    }
+
+    /**
+     * Makes the monthly payments of the consumers whose bankruptcy statuses are held by the
+     * given word of the bitset. Private method designed for the current class.
+     *
+     * @param word index of the word of the bankruptcy bitset
+     * @return the number of consumers declared bankrupt
+     */
+    private int payMonthlyRates(final int word) {
+        int bankruptcies = 0;
+        int end = Math.min(store.size, (word + 1) * ConsumersStore.WORD_SIZE);
+        for (int i = word * ConsumersStore.WORD_SIZE; i < end; ++i) {
+            if (!store.isBankrupt(i) && payMonthlyRate(i)) {
+                bankruptcies++;
+            }
+        }
+        return bankruptcies;
+    }
 
-            newBudget = consumer.budget + consumer.monthlyIncome
-                    - consumer.contract.monthlyRate; // budget of a consumer in a new month
-
-            if (consumer.contract.debt == 0) { // verify whether a consumer is not in debt
-                if (newBudget < 0) {
-                    // if the consumer can not afford to pay the new month, his remaining debt
-                    // sum is set
-                    newBudget = newBudget + consumer.contract.monthlyRate;
-                    consumer.contract.debt = Math.round(Math.floor(Utils.DEBT
-                            * consumer.contract.monthlyRate));
-                }
-                consumer.budget = newBudget; // the new budget is set
-                // the length of the contract is decremented
-                consumer.contract.length = consumer.contract.length - 1;
+    /**
+     * Updates the budget, the debt and the bankruptcy status of a consumer after paying the
+     * monthly rate of his contract. Private method designed for the current class.
+     *
+     * @param i position of the consumer who pays the monthly rate
+     * @return true if the consumer was declared bankrupt
+     */
+    private boolean payMonthlyRate(final int i) {
+        boolean bankrupt = false;
+        long[] length = store.length;
+        long newBudget = store.budget[i] + store.monthlyIncome[i]
+                - store.monthlyRate[i]; // budget of a consumer in a new month
+
+        if (store.debt[i] == 0) { // verify whether a consumer is not in debt
+            if (newBudget < 0) {
+                // if the consumer can not afford to pay the new month, his remaining debt
+                // sum is set
+                newBudget = newBudget + store.monthlyRate[i];
+                store.debt[i] = Math.round(Math.floor(Utils.DEBT * store.monthlyRate[i]));
+                // the distributor no longer receives the monthly rate of the consumer
+                store.distributor[i].clientInDebt(consumers.get(i));
+            }
+            store.budget[i] = newBudget; // the new budget is set
+            length[i] = length[i] - 1; // the length of the contract is decremented
+        } else {
+            newBudget = newBudget - store.debt[i];
+            // if the consumer can not afford to pay the new month and the existing debt, he
+            // will be declared bankrupt
+            if (newBudget <= 0) {
+                newBudget = store.budget[i] + store.monthlyIncome[i];
+                store.setBankrupt(i);
+                bankrupt = true;
+                store.distributor[i].clientBankrupt(consumers.get(i));
             } else {
-                newBudget = newBudget - consumer.contract.debt;
-                // if the consumer can not afford to pay the new month and the existing debt, he
-                // will be declared bankrupt
-                if (newBudget <= 0) {
-                    newBudget = consumer.getBudget() + consumer.monthlyIncome;
-                    consumer.bankrupt = true;
-                } else {
-                    // the length of the contract is decremented
-                    consumer.contract.length = consumer.contract.length - 1;
-                }
-                consumer.budget = newBudget; // the new budget is set
+                length[i] = length[i] - 1; // the length of the contract is decremented
             }
+            store.budget[i] = newBudget; // the new budget is set
+        }
+
+        // the distributor is notified that the client will leave when the contract reached the end
+        if (length[i] == 0) {
+            store.distributor[i].clientExpired(consumers.get(i));
+        }
+        return bankrupt;
+    }
+
+    /**
+     * Writes the consumers to a checkpoint, one column of the store after another.
+     *
+     * @param out checkpoint being written
+     * @throws IOException input/output exception
+     */
+    public void save(final BinaryOutput out) throws IOException {
+        int size = store.size;
+        out.writeInt(size);
+        for (Consumer consumer : consumers) {
+            out.writeLong(consumer.getId());
         }
+        out.writeLongs(store.budget, size);
+        out.writeLongs(store.monthlyIncome, size);
+        out.writeLongs(store.bankrupt, (size + ConsumersStore.WORD_SIZE - 1)
+                / ConsumersStore.WORD_SIZE);
+        // the distributors are written by id, consumers without a contract being marked
+        for (int i = 0; i < size; ++i) {
+            out.writeBoolean(store.distributor[i] != null);
+        }
+        out.writeLongs(store.distributorId, size);
+        out.writeLongs(store.monthlyRate, size);
+        out.writeLongs(store.length, size);
+        out.writeLongs(store.debt, size);
+        out.writeLongs(store.clientEntries, size);
+        out.writeLongs(store.clientStamp, size);
+    }
+
+    /**
+     * Restores the consumers written to a checkpoint.
+     *
+     * @param in                   checkpoint being read
+     * @param distributorsDatabase database of the distributors of the contracts, already restored
+     * @return the restored database
+     * @throws IOException input/output exception
+     */
+    public static ConsumersDB load(final BinaryInput in,
+                                   final DistributorsDB distributorsDatabase)
+            throws IOException {
+        int size = in.readInt();
+        ConsumersStore store = new ConsumersStore(size);
+        store.size = size;
+        List<Consumer> consumers = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            consumers.add(new Consumer(in.readLong(), store, i));
+        }
+        in.readLongs(store.budget, size);
+        in.readLongs(store.monthlyIncome, size);
+        in.readLongs(store.bankrupt, (size + ConsumersStore.WORD_SIZE - 1)
+                / ConsumersStore.WORD_SIZE);
+        boolean[] hasContract = new boolean[size];
+        for (int i = 0; i < size; ++i) {
+            hasContract[i] = in.readBoolean();
+        }
+        in.readLongs(store.distributorId, size);
+        for (int i = 0; i < size; ++i) {
+            if (hasContract[i]) {
+                store.distributor[i] = distributorsDatabase.getDistributor(store.distributorId[i]);
+            }
+        }
+        in.readLongs(store.monthlyRate, size);
+        in.readLongs(store.length, size);
+        in.readLongs(store.debt, size);
+        in.readLongs(store.clientEntries, size);
+        in.readLongs(store.clientStamp, size);
+        return new ConsumersDB(consumers, store);
+    }
+
+    /**
+     * Sets whether the monthly payments of the consumers are computed in parallel.
+     *
+     * @param parallelBilling true for parallel payments, false for sequential ones
+     */
+    public void setParallelBilling(final boolean parallelBilling) {
+        this.parallelBilling = parallelBilling;
     }
 
     public List<Consumer> getConsumers() {
         return consumers;
     }
+
+    public long getRenewedContracts() {
+        return renewedContracts;
+    }
+
+    public long getNewBankruptcies() {
+        return newBankruptcies;
+    }
+
+    public ConsumersStore getStore() {
+        return store;
+    }
 }
@@ -0,0 +1,122 @@
+package consumer;
+
+import distributor.Distributor;
+
+import java.util.Arrays;
+
+/**
+ * Columnar storage of the consumers and of their contracts. Each field is kept in a primitive
+ * array indexed by the position of the consumer in the store and the bankruptcy statuses are
+ * kept as a bitset, so the monthly payments run over contiguous arrays. The Consumer and
+ * Contract objects are views over a position of the store.
+ */
+public final class ConsumersStore {
+    public static final int WORD_SIZE = 64; // number of bankruptcy statuses held by a word
+    protected int size; // number of consumers held by the store
+    protected long[] budget; // monthly budgets of the consumers
+    protected long[] monthlyIncome; // monthly incomes of the consumers
+    protected long[] bankrupt; // bankruptcy statuses of the consumers, one bit each
+    protected long[] distributorId; // ids of the distributors that set the contracts
+    protected Distributor[] distributor; // distributors that set the contracts
+    protected long[] monthlyRate; // monthly rates of the contracts
+    protected long[] length; // number of months to be paid of the contracts
+    protected long[] debt; // remaining sums to be paid of a previous month
+    // number of entries of the consumers in the distributors' lists of clients
+    protected long[] clientEntries;
+    // stamps of the entries of the consumers in the distributors' lists of clients
+    protected long[] clientStamp;
+
+    /**
+     * Class constructor with one parameter.
+     *
+     * @param capacity initial number of consumers that fit in the store
+     */
+    public ConsumersStore(final int capacity) {
+        allocate(Math.max(capacity, 1));
+    }
+
+    /**
+     * Resizes all the arrays of the store to the given capacity. Private method designed for
+     * the current class.
+     *
+     * @param capacity new number of consumers that fit in the store
+     */
+    private void allocate(final int capacity) {
+        budget = budget == null ? new long[capacity] : Arrays.copyOf(budget, capacity);
+        monthlyIncome = monthlyIncome == null ? new long[capacity]
+                : Arrays.copyOf(monthlyIncome, capacity);
+        int words = (capacity + WORD_SIZE - 1) / WORD_SIZE;
+        bankrupt = bankrupt == null ? new long[words] : Arrays.copyOf(bankrupt, words);
+        distributorId = distributorId == null ? new long[capacity]
+                : Arrays.copyOf(distributorId, capacity);
+        distributor = distributor == null ? new Distributor[capacity]
+                : Arrays.copyOf(distributor, capacity);
+        monthlyRate = monthlyRate == null ? new long[capacity]
+                : Arrays.copyOf(monthlyRate, capacity);
+        length = length == null ? new long[capacity] : Arrays.copyOf(length, capacity);
+        debt = debt == null ? new long[capacity] : Arrays.copyOf(debt, capacity);
+        clientEntries = clientEntries == null ? new long[capacity]
+                : Arrays.copyOf(clientEntries, capacity);
+        clientStamp = clientStamp == null ? new long[capacity]
+                : Arrays.copyOf(clientStamp, capacity);
+    }
+
+    /**
+     * Adds a new consumer without a contract at the end of the store.
+     *
+     * @param initialBudget budget of the consumer
+     * @param income        monthly income of the consumer
+     * @return the position of the consumer in the store
+     */
+    public int add(final long initialBudget, final long income) {
+        if (size == budget.length) {
+            allocate(size * 2);
+        }
+        budget[size] = initialBudget;
+        monthlyIncome[size] = income;
+        return size++;
+    }
+
+    /**
+     * Adds at the end of the store a copy of a consumer found in another store.
+     *
+     * @param source   store holding the consumer
+     * @param position of the consumer in the source store
+     * @return the position of the consumer in the current store
+     */
+    public int copy(final ConsumersStore source, final int position) {
+        int index = add(source.budget[position], source.monthlyIncome[position]);
+        if (source.isBankrupt(position)) {
+            setBankrupt(index);
+        }
+        distributorId[index] = source.distributorId[position];
+        distributor[index] = source.distributor[position];
+        monthlyRate[index] = source.monthlyRate[position];
+        length[index] = source.length[position];
+        debt[index] = source.debt[position];
+        clientEntries[index] = source.clientEntries[position];
+        clientStamp[index] = source.clientStamp[position];
+        return index;
+    }
+
+    /**
+     * @param index position of the consumer
+     * @return the bankruptcy status of the consumer
+     */
+    public boolean isBankrupt(final int index) {
+        return (bankrupt[index / WORD_SIZE] & (1L << index)) != 0;
+    }
+
+    /**
+     * Declares the consumer found at the given position bankrupt.
+     *
+     * @param index position of the consumer
+     */
+    public void setBankrupt(final int index) {
+        bankrupt[index / WORD_SIZE] |= 1L << index;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
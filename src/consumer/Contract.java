@@ -2,14 +2,19 @@ package consumer;
 
 import distributor.Distributor;
 
+/**
+ * View over the contract columns of a consumer found in a columnar consumers store.
+ */
 public final class Contract {
-    protected long currentContract; // current distributor id that sets the contract
-    protected long monthlyRate; // monthly rate of the contract
-    protected long length; // number of months to be paid
-    protected long debt; // remaining sum to be paid of a previous month
+    private final Consumer consumer; // consumer who signed the contract
 
-    public Contract() {
-        debt = 0; // initially, debt is non-existent
+    /**
+     * Class constructor with one parameter. Initially, debt is non-existent.
+     *
+     * @param consumer who signs the contract
+     */
+    public Contract(final Consumer consumer) {
+        this.consumer = consumer;
     }
 
     /**
@@ -19,20 +24,54 @@ public final class Contract {
      *                             monthly rate of a new contract
      */
     public void updateContract(final Distributor preferredDistributor) {
-        currentContract = preferredDistributor.getId(); // the id of the current distributor is set
-        length = preferredDistributor.getContractLength(); // the new contract length is set
-        monthlyRate = preferredDistributor.getMonthlyRate(); // the new monthly rate is set
+        ConsumersStore store = consumer.store;
+        int index = consumer.index;
+        // the id of the current distributor is set
+        store.distributorId[index] = preferredDistributor.getId();
+        store.distributor[index] = preferredDistributor; // the current distributor is set
+        // the new contract length is set
+        store.length[index] = preferredDistributor.getContractLength();
+        // the new monthly rate is set
+        store.monthlyRate[index] = preferredDistributor.getMonthlyRate();
+    }
+
+    /**
+     * Counts a new entry of the consumer in the list of clients of the distributor.
+     */
+    public void addClientEntry() {
+        consumer.store.clientEntries[consumer.index]++;
+    }
+
+    /**
+     * Removes all the entries of the consumer from the list of clients of the distributor by
+     * changing the stamp they were added with.
+     */
+    public void leaveClients() {
+        consumer.store.clientEntries[consumer.index] = 0;
+        consumer.store.clientStamp[consumer.index]++;
+    }
+
+    public long getClientEntries() {
+        return consumer.store.clientEntries[consumer.index];
+    }
+
+    public long getClientStamp() {
+        return consumer.store.clientStamp[consumer.index];
+    }
+
+    public Distributor getDistributor() {
+        return consumer.store.distributor[consumer.index];
     }
 
     public long getMonthlyRate() {
-        return monthlyRate;
+        return consumer.store.monthlyRate[consumer.index];
     }
 
     public long getLength() {
-        return length;
+        return consumer.store.length[consumer.index];
     }
 
     public long getDebt() {
-        return debt;
+        return consumer.store.debt[consumer.index];
     }
 }
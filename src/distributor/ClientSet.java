@@ -0,0 +1,130 @@
+package distributor;
+
+import consumer.Consumer;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Ordered set of the clients of a distributor that marks departures in constant time. Each entry
+ * keeps the client entries stamp of the consumer's contract at the moment it was added, so an
+ * entry becomes a tombstone as soon as the consumer leaves the distributor and the contract's
+ * stamp changes. The tombstones are skipped when iterating and are only compacted when they
+ * exceed the live entries, keeping the order in which the clients were added.
+ */
+public final class ClientSet implements Iterable<Consumer> {
+    private static final int INITIAL_CAPACITY = 8; // initial capacity of the entries arrays
+    private static final int DEAD_RATIO = 2; // compaction when more than half are tombstones
+    private Consumer[] entries; // clients in order of addition, tombstones included
+    private long[] stamps; // contract stamps of the clients when added
+    private int size; // number of entries, tombstones included
+    private int live; // number of live entries
+
+    /**
+     * Class constructor without parameters.
+     */
+    public ClientSet() {
+        entries = new Consumer[INITIAL_CAPACITY];
+        stamps = new long[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Verifies whether the entry found at the given position still belongs to the distributor.
+     * Private method designed for the current class.
+     *
+     * @param index position of the entry
+     * @return true if the client did not leave, false for tombstones
+     */
+    private boolean isLive(final int index) {
+        return entries[index].getContract().getClientStamp() == stamps[index];
+    }
+
+    /**
+     * Adds a new client at the end of the set.
+     *
+     * @param consumer the new client
+     */
+    public void add(final Consumer consumer) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+            stamps = Arrays.copyOf(stamps, size * 2);
+        }
+        entries[size] = consumer;
+        stamps[size] = consumer.getContract().getClientStamp();
+        size++;
+        live++;
+    }
+
+    /**
+     * Records that entries of the set became tombstones, after the stamp of the client's
+     * contract changed, and compacts the set if the tombstones became the majority.
+     *
+     * @param count number of entries that became tombstones
+     */
+    public void markDeparted(final int count) {
+        live -= count;
+        if ((size - live) * DEAD_RATIO > size) {
+            compact();
+        }
+    }
+
+    /**
+     * Removes all the tombstones, keeping the order of the live entries. Private method designed
+     * for the current class.
+     */
+    private void compact() {
+        int newSize = 0;
+        for (int i = 0; i < size; ++i) {
+            if (isLive(i)) {
+                entries[newSize] = entries[i];
+                stamps[newSize] = stamps[i];
+                newSize++;
+            }
+        }
+        Arrays.fill(entries, newSize, size, null);
+        size = newSize;
+    }
+
+    /**
+     * @return the number of live clients
+     */
+    public int size() {
+        return live;
+    }
+
+    /**
+     * Returns an iterator over the live clients in the order they were added.
+     *
+     * @return the iterator of the clients
+     */
+    @Override
+    public Iterator<Consumer> iterator() {
+        return new Iterator<>() {
+            private int cursor = skipTombstones(0); // position of the next live entry
+
+            private int skipTombstones(final int index) {
+                int next = index;
+                while (next < size && !isLive(next)) {
+                    next++;
+                }
+                return next;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            public Consumer next() {
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                Consumer consumer = entries[cursor];
+                cursor = skipTombstones(cursor + 1);
+                return consumer;
+            }
+        };
+    }
+}
@@ -9,32 +9,38 @@ import game.Utils;
 import org.json.simple.JSONObject;
 
 import producer.Producer;
+import producer.ProducerObserver;
 
 import strategies.EnergyChoiceStrategyType;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Observable;
-import java.util.Observer;
 
 /**
- * Observer of the producers' changes.
+ * Observer of the changes of the producers supplying it.
  */
-@SuppressWarnings("deprecation")
-public final class Distributor extends Entity implements Observer {
+public final class Distributor extends Entity implements ProducerObserver {
     protected final long contractLength; // the length of the contract
     protected long infrastructureCost; // the infrastructure cost
     protected long productionCost; // the production cost
     protected long nrClients; // number of clients of a distributor
     protected long totalCost; // total monthly costs of a distributor
     protected long monthlyRate; // monthly rate set for clients by a distributor
-    protected List<Consumer> clients; // list of clients
+    protected ClientSet clients; // set of clients
+    // sum of the monthly rates of the clients from the list who are not in debt
+    protected long paidRevenue;
+    // clients from the list who were declared bankrupt and have to leave
+    protected List<Consumer> bankruptClients;
+    // clients from the list whose contract reached the end and have to leave
+    protected List<Consumer> expiredClients;
     protected long budget; // monthly budget of a distributor
     protected boolean bankrupt; // bankruptcy status of a distributor
     protected long energyNeededKW; // energy needed to be supplied
     protected EnergyChoiceStrategyType producerStrategy; // strategy used for energy choice
     protected List<Producer> energyProducers; // current list of producers supplying energy
-    protected boolean hasChanged; // modifies when the energy supplied of a producer changes
+    protected int position; // position of the distributor in the list of the database
+    // database whose queue the distributor joins when one of his suppliers changes
+    protected DistributorsDB database;
 
     /**
      * Class constructor with one parameter.
@@ -42,16 +48,52 @@ public final class Distributor extends Entity implements Observer {
      * @param distributor to be added, extracted from input data
      */
     public Distributor(final JSONObject distributor) {
-        super(distributor); // super constructor call
+        this((long) distributor.get("id"), (long) distributor.get("contractLength"),
+                (long) distributor.get("initialBudget"),
+                (long) distributor.get("initialInfrastructureCost"),
+                (long) distributor.get("energyNeededKW"),
+                EnergyChoiceStrategyType.valueOf((String) distributor.get("producerStrategy")));
+    }
+
+    /**
+     * Class constructor with six parameters, used when the input data is not given as json.
+     *
+     * @param id                 of the distributor
+     * @param contractLength     the length of the contracts of the distributor
+     * @param initialBudget      budget of the distributor at the beginning of the game
+     * @param infrastructureCost initial infrastructure cost
+     * @param energyNeededKW     energy needed to be supplied
+     * @param producerStrategy   strategy used for energy choice
+     */
+    public Distributor(final long id, final long contractLength, final long initialBudget,
+                       final long infrastructureCost, final long energyNeededKW,
+                       final EnergyChoiceStrategyType producerStrategy) {
+        super(id); // super constructor call
         bankrupt = false;
-        energyNeededKW = (long) distributor.get("energyNeededKW");
-        producerStrategy = EnergyChoiceStrategyType.valueOf((String)
-                distributor.get("producerStrategy"));
-        budget = (long) distributor.get("initialBudget");
-        contractLength = (long) distributor.get("contractLength");
-        infrastructureCost = (long) distributor.get("initialInfrastructureCost");
-        clients = new ArrayList<>();
-        hasChanged = false;
+        this.energyNeededKW = energyNeededKW;
+        this.producerStrategy = producerStrategy;
+        budget = initialBudget;
+        this.contractLength = contractLength;
+        this.infrastructureCost = infrastructureCost;
+        clients = new ClientSet();
+        bankruptClients = new ArrayList<>();
+        expiredClients = new ArrayList<>();
+    }
+
+    /**
+     * Class constructor with two parameters, used when restoring a distributor from a
+     * checkpoint. The rest of the fields are set afterwards by the database.
+     *
+     * @param id             of the distributor
+     * @param contractLength the length of the contracts of the distributor
+     */
+    Distributor(final long id, final long contractLength) {
+        super(id); // super constructor call
+        this.contractLength = contractLength;
+        clients = new ClientSet();
+        bankruptClients = new ArrayList<>();
+        expiredClients = new ArrayList<>();
+        energyProducers = new ArrayList<>();
     }
 
     /**
@@ -76,31 +118,99 @@ public final class Distributor extends Entity implements Observer {
         monthlyRate = infrastructureCost + productionCost + profit;
     }
 
+    /**
+     * Adds a new client to the list of clients and counts him in the revenue of the distributor
+     * if he is not in debt.
+     *
+     * @param consumer the new client
+     */
+    public void addClient(final Consumer consumer) {
+        clients.add(consumer);
+        consumer.getContract().addClientEntry();
+        if (!consumer.isBankrupt() && consumer.getContract().getDebt() == 0) {
+            paidRevenue += consumer.getContract().getMonthlyRate();
+        }
+    }
+
+    /**
+     * Removes a client from the set of clients, along with his contribution to the revenue of
+     * the distributor. Clients who already left are ignored.
+     *
+     * @param consumer the client leaving the set
+     */
+    void removeClient(final Consumer consumer) {
+        long entries = consumer.getContract().getClientEntries();
+        if (entries == 0) {
+            return;
+        }
+        if (!consumer.isBankrupt() && consumer.getContract().getDebt() == 0) {
+            paidRevenue -= consumer.getContract().getMonthlyRate() * entries;
+        }
+        consumer.getContract().leaveClients(); // all the entries of the client become tombstones
+        clients.markDeparted((int) entries);
+    }
+
+    /**
+     * Notifies the distributor that one of his clients could not pay the current month, so his
+     * monthly rate is no longer part of the revenue for any of his entries in the list.
+     * Synchronized since the payments of the consumers may run in parallel.
+     *
+     * @param consumer the client in debt
+     */
+    public synchronized void clientInDebt(final Consumer consumer) {
+        paidRevenue -= consumer.getContract().getMonthlyRate()
+                * consumer.getContract().getClientEntries();
+    }
+
+    /**
+     * Notifies the distributor that one of his clients was declared bankrupt, so he will leave
+     * the set of clients at the end of the month. Synchronized since the payments of the
+     * consumers may run in parallel.
+     *
+     * @param consumer the bankrupt client
+     */
+    public synchronized void clientBankrupt(final Consumer consumer) {
+        bankruptClients.add(consumer);
+    }
+
+    /**
+     * Notifies the distributor that the contract of one of his clients reached the end, so he
+     * will leave the set of clients at the beginning of the next month. Synchronized since the
+     * payments of the consumers may run in parallel.
+     *
+     * @param consumer the client whose contract expired
+     */
+    public synchronized void clientExpired(final Consumer consumer) {
+        expiredClients.add(consumer);
+    }
+
     /**
      * Updates the infrastructure costs of a distributor given through a monthly update.
      *
      * @param distributor to be updated, extracted from input data
      */
     public void updateDistributor(final JSONObject distributor) {
-        infrastructureCost = (long) distributor.get("infrastructureCost");
+        updateDistributor((long) distributor.get("infrastructureCost"));
     }
 
     /**
-     * Notifies the observer that a producer suffered changes and that he may be affected. Sets
-     * the change flag on if the observer was affected by the updates.
+     * Updates the infrastructure costs of a distributor given through a monthly update.
      *
-     * @param o          observable object
-     * @param producerId id of the producer that suffered changes
+     * @param newInfrastructureCost infrastructure cost starting with the current month
+     */
+    public void updateDistributor(final long newInfrastructureCost) {
+        infrastructureCost = newInfrastructureCost;
+    }
+
+    /**
+     * Notifies the observer that one of its producers suffered changes. Only the distributors
+     * supplied by the modified producer are notified, so the distributor joins the queue of his
+     * database directly, if he belongs to one; the queue is the only record of the change.
      */
     @Override
-    public void update(Observable o, Object producerId) {
-        for (Producer producer : energyProducers) {
-            // verifies whether the distributor is supplied by the modified producer and sets the
-            // flag accordingly
-            if (producer.getId() == (long) producerId) {
-                hasChanged = true;
-                break;
-            }
+    public void update() {
+        if (database != null) {
+            database.queueChanged(this);
         }
     }
 
@@ -132,12 +242,18 @@ public final class Distributor extends Entity implements Observer {
         return producerStrategy;
     }
 
-    public List<Consumer> getClients() {
+    public ClientSet getClients() {
         return clients;
     }
 
+    /**
+     * Returns whether the distributor is queued for updating his suppliers at the end of the
+     * current month.
+     *
+     * @return true if one of his suppliers changed since his last update
+     */
     public boolean isHasChanged() {
-        return hasChanged;
+        return database != null && database.isQueued(this);
     }
 
     public List<Producer> getEnergyProducers() {
@@ -3,18 +3,37 @@ package distributor;
 import consumer.Consumer;
 import consumer.ConsumersDB;
 
+import entities.EntityIndex;
+
+import fileio.BinaryInput;
+import fileio.BinaryOutput;
+
 import game.Utils;
 
 import producer.Producer;
 import producer.ProducersDB;
 
 import strategies.EnergyChoiceStrategyFactory;
+import strategies.EnergyChoiceStrategyType;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 
 public final class DistributorsDB {
     private final List<Distributor> distributors; // list of all distributors
+    private final EntityIndex<Distributor> distributorsIndex; // distributors by id
+    // non-bankrupt distributors ordered by monthly rate and then by their positions in the list
+    private final TreeSet<Distributor> ratesIndex;
+    // positions in the list of the distributors whose suppliers changed, waiting to update them
+    private final BitSet changedDistributors;
+    private long newBankruptcies; // number of distributors declared bankrupt in the last month
+    private long rebalancedDistributors; // number of distributors that changed suppliers
+    private ForkJoinPool settlementPool; // pool of the parallel settlement, null if sequential
 
     /**
      * Class constructor with one parameter.
@@ -23,6 +42,45 @@ public final class DistributorsDB {
      */
     public DistributorsDB(final List<Distributor> distributors) {
         this.distributors = new ArrayList<>(distributors);
+        this.distributorsIndex = new EntityIndex<>(distributors, "distributor");
+        // each distributor joins the queue of the database when one of his suppliers changes
+        for (int i = 0; i < this.distributors.size(); ++i) {
+            this.distributors.get(i).position = i;
+            this.distributors.get(i).database = this;
+        }
+        // equal rates are ordered like in the list, so the first distributor found by a scan of
+        // the list is still the preferred one
+        this.ratesIndex = new TreeSet<>(Comparator.comparingLong(Distributor::getMonthlyRate)
+                .thenComparingInt(distributor -> distributor.position));
+        this.changedDistributors = new BitSet(this.distributors.size());
+    }
+
+    /**
+     * Applies the given action to every distributor of the database, in parallel on the
+     * settlement pool if one was set, otherwise sequentially. The action must only modify the
+     * distributor it receives. Private method designed for the current class.
+     *
+     * @param action to be applied to each distributor
+     */
+    private void forEachDistributor(final java.util.function.Consumer<Distributor> action) {
+        if (settlementPool == null) {
+            distributors.forEach(action);
+        } else {
+            settlementPool.submit(() -> distributors.parallelStream().forEach(action)).join();
+        }
+    }
+
+    /**
+     * Adds all the distributors still in game to the rates index after their monthly rates were
+     * modified. Private method designed for the current class.
+     */
+    private void rebuildRatesIndex() {
+        ratesIndex.clear();
+        for (Distributor distributor : distributors) {
+            if (!distributor.isBankrupt()) {
+                ratesIndex.add(distributor);
+            }
+        }
     }
 
     /**
@@ -42,7 +100,7 @@ public final class DistributorsDB {
                 distributor.nrClients = consumersDatabase.getConsumers().size();
                 totalCost = distributor.infrastructureCost + distributor.productionCost
                         * distributor.nrClients; // initial cost for the preferred distributor
-                distributor.clients = new ArrayList<>(consumersDatabase.getConsumers());
+                consumersDatabase.getConsumers().forEach(distributor::addClient);
             } else {
                 totalCost = distributor.infrastructureCost;
             }
@@ -55,19 +113,23 @@ public final class DistributorsDB {
      * client for the all database of distributors.
      */
     public void setInitialMonthlyRate() {
+        ratesIndex.clear();
         for (Distributor distributor : distributors) {
             distributor.calculateInitialMonthlyRate();
         }
+        rebuildRatesIndex();
     }
 
     /**
      * Sets the monthly rates for all distributors based on the profit and the number of clients.
      */
     public void calculateMonthlyRate() {
-        long monthlyRate; // the new monthly rate calculated
-        long profit; // the current profit
-        for (Distributor distributor : distributors) {
-            profit = Math.round(Math.floor(Utils.PROFIT * distributor.productionCost));
+        // the keys of the rates index change, so it is emptied before and rebuilt afterwards
+        ratesIndex.clear();
+        forEachDistributor(distributor -> {
+            // the current profit
+            long profit = Math.round(Math.floor(Utils.PROFIT * distributor.productionCost));
+            long monthlyRate; // the new monthly rate calculated
             if (distributor.nrClients == 0) { // verify whether the distributor has any clients
                 monthlyRate = distributor.infrastructureCost + distributor.productionCost + profit;
             } else {
@@ -75,17 +137,24 @@ public final class DistributorsDB {
                         / distributor.nrClients) + distributor.productionCost + profit);
             }
             distributor.monthlyRate = monthlyRate; // sets the new monthly rate of the distributor
-        }
+        });
+        rebuildRatesIndex();
     }
 
     /**
      * Removes all the invalid contracts consisting in clients who reached the end of the contract.
      */
     public void removeInvalidContracts() {
-        for (Distributor distributor : distributors) {
-            distributor.clients.removeIf(consumer -> consumer.getContract().getLength() == 0);
+        forEachDistributor(distributor -> {
+            // only the clients reported when their contract reached the end are verified
+            for (Consumer consumer : distributor.expiredClients) {
+                if (consumer.getContract().getLength() == 0) {
+                    distributor.removeClient(consumer);
+                }
+            }
+            distributor.expiredClients.clear();
             distributor.nrClients = distributor.clients.size(); // sets the new number of clients
-        }
+        });
     }
 
     /**
@@ -97,84 +166,108 @@ public final class DistributorsDB {
      * distributors' lists.
      */
     public void updateDistributors() {
-        long newBudget; // the new budget of a distributor
-        for (Distributor distributor : distributors) {
+        forEachDistributor(distributor -> {
             if (distributor.isBankrupt()) { // bankrupt distributors are not updated anymore
-                continue;
+                distributor.bankruptClients.clear();
+                return;
             }
             // sets the current number of valid clients from the clients list
             distributor.nrClients = distributor.clients.size();
             distributor.totalCost = distributor.infrastructureCost + distributor.nrClients
                     * distributor.productionCost;
-            // initially the budget is calculated as the difference between old budget and costs
-            newBudget = distributor.budget - distributor.totalCost;
-            // for each consumer that paid in the current month, his monthly rate is added to the
-            // distributor's budget
-            for (Consumer consumer : distributor.clients) {
-                if (consumer.getContract().getDebt() == 0) {
-                    newBudget += consumer.getContract().getMonthlyRate();
-                }
-            }
+            // the budget is calculated as the difference between old budget and costs, to which
+            // the monthly rates of the consumers that paid in the current month are added
+            long newBudget = distributor.budget - distributor.totalCost + distributor.paidRevenue;
             // if the budget becomes negative, the distributor is declared bankrupt
             if (newBudget < 0) {
                 distributor.bankrupt = true;
             }
             distributor.budget = newBudget; // sets the new budget of a distributor
             // removes any bankrupt clients from the clients list and updates the number of clients
-            distributor.getClients().removeIf(Consumer::isBankrupt);
+            distributor.bankruptClients.forEach(distributor::removeClient);
+            distributor.bankruptClients.clear();
             distributor.nrClients = distributor.getClients().size();
-        }
+        });
+        // bankrupt distributors are no longer offered, the ones removed having just gone bankrupt
+        int offeredDistributors = ratesIndex.size();
+        ratesIndex.removeIf(Distributor::isBankrupt);
+        newBankruptcies = offeredDistributors - ratesIndex.size();
     }
 
     /**
-     * Returns the distributor from the database with the smallest monthly rate.
+     * Returns the distributor from the database with the smallest monthly rate. The rates index
+     * only holds distributors that are not bankrupt, ordered by monthly rate and then by their
+     * positions in the list, so the first entry is the preferred one.
      *
      * @return the distributor who offers the lowest monthly rate
      */
     public Distributor getMinPrice() {
-        Distributor preferredDistributor = null; // initializes the distributor with the lowest rate
-        long minPrice = Integer.MAX_VALUE; // initializes the minimum price offered
-        // search for a distributor that is not bankrupt and offers the lowest monthly rate
-        for (Distributor distributor : distributors) {
-            if (!distributor.isBankrupt() && distributor.monthlyRate < minPrice) {
-                minPrice = distributor.monthlyRate;
-                preferredDistributor = distributor;
-            }
+        if (ratesIndex.isEmpty()) {
+            return null;
+        }
+        Distributor preferredDistributor = ratesIndex.first();
+        // rates that reach the initial bound of the minimum price are never preferred
+        if (preferredDistributor.monthlyRate >= Integer.MAX_VALUE) {
+            return null;
         }
         return preferredDistributor;
     }
 
     /**
-     * Updates the list of suppliers, the change flag and the production cost of the distributors
-     * that have been affected by the modifications of the observable, producers' database.
+     * Queues a distributor whose suppliers changed in the current month, so that only the queued
+     * distributors update their suppliers at the end of the month. Queuing the same distributor
+     * again has no effect.
+     *
+     * @param distributor notified by one of his suppliers
+     */
+    void queueChanged(final Distributor distributor) {
+        changedDistributors.set(distributor.position);
+    }
+
+    /**
+     * Returns whether a distributor is queued for updating his suppliers.
+     *
+     * @param distributor of the database
+     * @return true if the distributor was queued since the last update of the suppliers
+     */
+    boolean isQueued(final Distributor distributor) {
+        return changedDistributors.get(distributor.position);
+    }
+
+    /**
+     * Updates the list of suppliers and the production cost of the distributors that have been
+     * affected by the modifications of the observable, producers' database, emptying the queue
+     * afterwards. Only
+     * the queued distributors are visited, in the order of the list, since the capacities of the
+     * producers go to the first distributors choosing them; the rest of the distributors are
+     * never scanned.
      *
      * @param choiceStrategyFactory factory that creates strategies for distributors
      * @param producersDatabase     database of all producers
      */
     public void updateEnergySources(final EnergyChoiceStrategyFactory choiceStrategyFactory,
                                     final ProducersDB producersDatabase) {
-        for (Distributor distributor : distributors) {
-            // verifies whether the distributor must update the list of suppliers
-            if (distributor.isHasChanged()) {
-                // if the list must be updated, the distributor is removed from the modified
-                // producer's list of distributors
-                for (Producer producer : distributor.getEnergyProducers()) {
-                    producer.getDistributors().remove(distributor);
-                }
-                // creates the new list of producers chosen through the distributor's strategy
-                distributor.energyProducers =
-                        choiceStrategyFactory.createStrategy(distributor.getProducerStrategy(),
-                                producersDatabase, distributor).getEnergyProducers();
-                distributor.hasChanged = false; // the change flag is reset to 0
-                // the production cost is updated
-                distributor.productionCost = distributor.calculateProductionCost();
+        rebalancedDistributors = changedDistributors.cardinality();
+        for (int i = changedDistributors.nextSetBit(0); i >= 0;
+             i = changedDistributors.nextSetBit(i + 1)) {
+            Distributor distributor = distributors.get(i);
+            // the distributor is removed from the sets of distributors of his old producers
+            for (Producer producer : distributor.getEnergyProducers()) {
+                producer.getDistributors().remove(distributor);
             }
+            // creates the new list of producers chosen through the distributor's strategy
+            distributor.energyProducers =
+                    choiceStrategyFactory.createStrategy(distributor.getProducerStrategy(),
+                            producersDatabase, distributor).getEnergyProducers();
+            // the production cost is updated
+            distributor.productionCost = distributor.calculateProductionCost();
         }
+        changedDistributors.clear();
     }
 
     /**
-     * Sets the initial lists of energy producers of all distributors from the database.
-     * Additionally, adds all the initiated distributors to the observers list of the observable.
+     * Sets the initial lists of energy producers of all distributors from the database. Choosing
+     * the producers also subscribes each distributor as observer of its suppliers.
      *
      * @param choiceStrategyFactory factory that creates strategies for distributors
      * @param producersDatabase     database of all producers
@@ -182,13 +275,168 @@ public final class DistributorsDB {
     public void initiateEnergySources(final EnergyChoiceStrategyFactory choiceStrategyFactory,
                                       final ProducersDB producersDatabase) {
         // creates the initial list of producers chosen through the distributor's strategy
-        // adds the distributor to the observers list of the producers' database
-        distributors.forEach(distributor -> {
-            distributor.energyProducers =
-                    choiceStrategyFactory.createStrategy(distributor.getProducerStrategy(),
-                            producersDatabase, distributor).getEnergyProducers();
-            producersDatabase.addObserver(distributor);
-        });
+        distributors.forEach(distributor -> distributor.energyProducers =
+                choiceStrategyFactory.createStrategy(distributor.getProducerStrategy(),
+                        producersDatabase, distributor).getEnergyProducers());
+    }
+
+    /**
+     * Writes the distributors to a checkpoint, with the ids of their suppliers.
+     *
+     * @param out checkpoint being written
+     * @throws IOException input/output exception
+     */
+    public void save(final BinaryOutput out) throws IOException {
+        out.writeInt(distributors.size());
+        for (Distributor distributor : distributors) {
+            out.writeLong(distributor.getId());
+            out.writeLong(distributor.contractLength);
+            out.writeLong(distributor.infrastructureCost);
+            out.writeLong(distributor.productionCost);
+            out.writeLong(distributor.nrClients);
+            out.writeLong(distributor.totalCost);
+            out.writeLong(distributor.monthlyRate);
+            out.writeLong(distributor.paidRevenue);
+            out.writeLong(distributor.budget);
+            out.writeBoolean(distributor.bankrupt);
+            out.writeLong(distributor.energyNeededKW);
+            out.writeInt(distributor.producerStrategy.ordinal());
+            out.writeBoolean(isQueued(distributor));
+            List<Producer> energyProducers = distributor.energyProducers == null
+                    ? List.of() : distributor.energyProducers;
+            out.writeInt(energyProducers.size());
+            for (Producer producer : energyProducers) {
+                out.writeLong(producer.getId());
+            }
+        }
+    }
+
+    /**
+     * Restores the distributors written to a checkpoint. Their clients are restored afterwards,
+     * once the consumers were restored.
+     *
+     * @param in                checkpoint being read
+     * @param producersDatabase database of the suppliers, already restored
+     * @return the restored database
+     * @throws IOException input/output exception
+     */
+    public static DistributorsDB load(final BinaryInput in,
+                                      final ProducersDB producersDatabase) throws IOException {
+        int size = in.readInt();
+        List<Distributor> distributors = new ArrayList<>(size);
+        BitSet queued = new BitSet(size); // distributors queued when the checkpoint was written
+        for (int i = 0; i < size; ++i) {
+            Distributor distributor = new Distributor(in.readLong(), in.readLong());
+            distributor.infrastructureCost = in.readLong();
+            distributor.productionCost = in.readLong();
+            distributor.nrClients = in.readLong();
+            distributor.totalCost = in.readLong();
+            distributor.monthlyRate = in.readLong();
+            distributor.paidRevenue = in.readLong();
+            distributor.budget = in.readLong();
+            distributor.bankrupt = in.readBoolean();
+            distributor.energyNeededKW = in.readLong();
+            distributor.producerStrategy = EnergyChoiceStrategyType.values()[in.readInt()];
+            queued.set(i, in.readBoolean());
+            int suppliers = in.readInt();
+            for (int j = 0; j < suppliers; ++j) {
+                distributor.energyProducers.add(producersDatabase.getProducer(in.readLong()));
+            }
+            distributors.add(distributor);
+        }
+        DistributorsDB distributorsDatabase = new DistributorsDB(distributors);
+        distributorsDatabase.rebuildRatesIndex();
+        distributorsDatabase.changedDistributors.or(queued);
+        return distributorsDatabase;
+    }
+
+    /**
+     * Writes the clients of the distributors to a checkpoint, by their positions in the
+     * consumers' database, along with the clients about to leave.
+     *
+     * @param out checkpoint being written
+     * @throws IOException input/output exception
+     */
+    public void saveClients(final BinaryOutput out) throws IOException {
+        for (Distributor distributor : distributors) {
+            saveConsumers(out, distributor.clients, distributor.clients.size());
+            saveConsumers(out, distributor.expiredClients, distributor.expiredClients.size());
+            saveConsumers(out, distributor.bankruptClients, distributor.bankruptClients.size());
+        }
+    }
+
+    /**
+     * Writes the positions of the given consumers. Private method designed for the current
+     * class.
+     *
+     * @param out       checkpoint being written
+     * @param consumers to be written
+     * @param count     number of consumers
+     * @throws IOException input/output exception
+     */
+    private static void saveConsumers(final BinaryOutput out,
+                                      final Iterable<Consumer> consumers, final int count)
+            throws IOException {
+        out.writeInt(count);
+        for (Consumer consumer : consumers) {
+            out.writeInt(consumer.getIndex());
+        }
+    }
+
+    /**
+     * Restores the clients of the distributors written to a checkpoint. Only the clients still
+     * in the sets were written, so they are added again in the same order.
+     *
+     * @param in                checkpoint being read
+     * @param consumersDatabase database of the clients, already restored
+     * @throws IOException input/output exception
+     */
+    public void loadClients(final BinaryInput in, final ConsumersDB consumersDatabase)
+            throws IOException {
+        List<Consumer> consumers = consumersDatabase.getConsumers();
+        for (Distributor distributor : distributors) {
+            int count = in.readInt();
+            for (int i = 0; i < count; ++i) {
+                distributor.clients.add(consumers.get(in.readInt()));
+            }
+            count = in.readInt();
+            for (int i = 0; i < count; ++i) {
+                distributor.expiredClients.add(consumers.get(in.readInt()));
+            }
+            count = in.readInt();
+            for (int i = 0; i < count; ++i) {
+                distributor.bankruptClients.add(consumers.get(in.readInt()));
+            }
+        }
+    }
+
+    /**
+     * Sets the pool on which the monthly settlement of the distributors runs in parallel. The
+     * results do not depend on the pool, since each distributor is settled independently.
+     *
+     * @param settlementPool pool of the parallel settlement, null for sequential settlement
+     */
+    public void setSettlementPool(final ForkJoinPool settlementPool) {
+        this.settlementPool = settlementPool;
+    }
+
+    /**
+     * Returns the distributor with the given id, whatever his position in the list.
+     *
+     * @param id of the distributor
+     * @return the distributor
+     * @throws IllegalArgumentException no distributor has the given id
+     */
+    public Distributor getDistributor(final long id) {
+        return distributorsIndex.get(id);
+    }
+
+    public long getNewBankruptcies() {
+        return newBankruptcies;
+    }
+
+    public long getRebalancedDistributors() {
+        return rebalancedDistributors;
     }
 
     public List<Distributor> getDistributors() {
@@ -1,6 +1,7 @@
 package entities;
 
 import consumer.Consumer;
+import consumer.ConsumersDB;
 
 import distributor.Distributor;
 
@@ -12,20 +13,16 @@ import producer.Producer;
  * Factory class designed using Singleton pattern that creates all the instances of the project
  * responsible for entities creation.
  */
-@SuppressWarnings("deprecation")
 public final class EntitiesFactory {
-    private static EntitiesFactory factory = null; // initially null private instance
-
     /**
-     * Returns a new factory instance.
+     * Returns the factory instance. The instance is created by the class loader when the holder
+     * class is first used, which is safe when several threads ask for it at once, while every
+     * later call only reads a final field, without any lock.
      *
-     * @return the instance will be created at first call of getInstance()
+     * @return the only instance of the factory
      */
     public static EntitiesFactory getInstance() {
-        if (factory == null) {
-            factory = new EntitiesFactory();
-        }
-        return factory;
+        return Holder.INSTANCE;
     }
 
     /**
@@ -35,7 +32,8 @@ public final class EntitiesFactory {
     }
 
     /**
-     * Private method particular to the factory class that returns a consumer object.
+     * Private method particular to the factory class that returns a consumer object, holding
+     * his fields in a store of his own until he is added to a database.
      *
      * @param consumer to be created given through input data
      * @return a new consumer
@@ -44,6 +42,20 @@ public final class EntitiesFactory {
         return new Consumer(consumer);
     }
 
+    /**
+     * Creates a consumer straight into the store of the database he joins, without the store of
+     * his own and the copy made when adding a consumer created by createEntity.
+     *
+     * @param consumer          to be created given through input data
+     * @param consumersDatabase database receiving the consumer
+     * @return the new consumer
+     */
+    public Consumer createConsumer(final JSONObject consumer,
+                                   final ConsumersDB consumersDatabase) {
+        return consumersDatabase.addConsumer((long) consumer.get("id"),
+                (long) consumer.get("initialBudget"), (long) consumer.get("monthlyIncome"));
+    }
+
     /**
      * Private method particular to the factory class that returns a distributor object.
      *
@@ -78,4 +90,11 @@ public final class EntitiesFactory {
             case PRODUCER -> createProducer(entity);
         };
     }
+
+    /**
+     * Holder of the factory instance, initialized on first use of the class.
+     */
+    private static final class Holder {
+        private static final EntitiesFactory INSTANCE = new EntitiesFactory();
+    }
 }
@@ -5,7 +5,6 @@ import org.json.simple.JSONObject;
 /**
  * Main class to be inherited by consumers, distributors and producers.
  */
-@SuppressWarnings("deprecation")
 public class Entity {
     protected final long id;
 
@@ -18,6 +17,15 @@ public class Entity {
         id = (long) entity.get("id");
     }
 
+    /**
+     * Class constructor with one parameter, used when restoring an entity from a checkpoint.
+     *
+     * @param id of the entity
+     */
+    protected Entity(final long id) {
+        this.id = id;
+    }
+
     /**
      * @return the id
      */
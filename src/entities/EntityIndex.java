@@ -0,0 +1,111 @@
+package entities;
+
+/**
+ * Index of entities by id, implemented as an open addressing hash table over primitive keys, so
+ * the ids do not have to be dense or to match the positions of the entities in any list and are
+ * resolved in constant time without being boxed.
+ *
+ * @param <T> type of the indexed entities
+ */
+public final class EntityIndex<T extends Entity> {
+    private static final int MIN_CAPACITY = 16; // smallest number of slots of the table
+    // odd multiplier derived from the golden ratio, used for spreading the ids
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private long[] keys; // ids of the entities, valid only for the occupied slots
+    private Object[] values; // entities of the table, null for the free slots
+    private int size; // number of indexed entities
+    private final String entityName; // name of the indexed entities, used in error messages
+
+    /**
+     * Class constructor with two parameters.
+     *
+     * @param entities   to be indexed
+     * @param entityName name of the indexed entities, such as "distributor"
+     */
+    public EntityIndex(final Iterable<? extends T> entities, final String entityName) {
+        this.entityName = entityName;
+        keys = new long[MIN_CAPACITY];
+        values = new Object[MIN_CAPACITY];
+        for (T entity : entities) {
+            put(entity);
+        }
+    }
+
+    /**
+     * Mixes the bits of an id so that consecutive or strided ids spread over the table. Private
+     * method designed for the current class.
+     *
+     * @param id of an entity
+     * @return the first slot probed for the id
+     */
+    private int slot(final long id) {
+        long hash = id * HASH_MULTIPLIER;
+        return (int) (hash ^ (hash >>> Integer.SIZE)) & (keys.length - 1);
+    }
+
+    /**
+     * Adds an entity to the index, replacing the entity with the same id, if any.
+     *
+     * @param entity to be indexed
+     */
+    public void put(final T entity) {
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int i = slot(entity.getId());
+        while (values[i] != null && keys[i] != entity.getId()) {
+            i = (i + 1) & (keys.length - 1);
+        }
+        if (values[i] == null) {
+            size++;
+        }
+        keys[i] = entity.getId();
+        values[i] = entity;
+    }
+
+    /**
+     * Moves all the entities into a table with the given number of slots. Private method
+     * designed for the current class.
+     *
+     * @param capacity new number of slots, a power of two
+     */
+    private void resize(final int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        for (int j = 0; j < oldKeys.length; ++j) {
+            if (oldValues[j] != null) {
+                int i = slot(oldKeys[j]);
+                while (values[i] != null) {
+                    i = (i + 1) & (capacity - 1);
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Returns the entity with the given id.
+     *
+     * @param id of the entity
+     * @return the entity
+     * @throws IllegalArgumentException no entity has the given id
+     */
+    @SuppressWarnings("unchecked")
+    public T get(final long id) {
+        int i = slot(id);
+        while (values[i] != null) {
+            if (keys[i] == id) {
+                return (T) values[i];
+            }
+            i = (i + 1) & (keys.length - 1);
+        }
+        throw new IllegalArgumentException("Unknown " + entityName + " id " + id);
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,181 @@
+package fileio;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary reader of checkpoint and scenario files, written by the binary output. The file is
+ * memory-mapped one window at a time, so files of any size are read without being copied to the
+ * heap.
+ */
+public final class BinaryInput implements AutoCloseable {
+    private static final long WINDOW_SIZE = 67_108_864L; // bytes mapped at once
+    private final FileChannel channel; // channel of the binary file
+    private final long fileSize; // number of bytes of the file
+    private long windowStart; // position in the file of the mapped window
+    private MappedByteBuffer window; // mapped part of the file being read
+
+    /**
+     * Class constructor with one parameter.
+     *
+     * @param path of the binary file
+     * @throws IOException input/output exception
+     */
+    public BinaryInput(final Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        fileSize = channel.size();
+        map(0);
+    }
+
+    /**
+     * Maps the window of the file starting at the given position. Private method designed for
+     * the current class.
+     *
+     * @param position in the file of the new window
+     * @throws IOException input/output exception
+     */
+    private void map(final long position) throws IOException {
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                Math.min(WINDOW_SIZE, fileSize - position));
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        windowStart = position;
+    }
+
+    /**
+     * Makes sure the given number of bytes can be read from the mapped window. Private method
+     * designed for the current class.
+     *
+     * @param bytes number of bytes about to be read
+     * @throws IOException the file ends before the bytes
+     */
+    private void ensure(final int bytes) throws IOException {
+        if (window.remaining() < bytes) {
+            long position = windowStart + window.position();
+            if (fileSize - position < bytes) {
+                throw new EOFException("Truncated binary file");
+            }
+            map(position);
+        }
+    }
+
+    /**
+     * Moves the reading position at the given position of the file, mapping the window starting
+     * there unless the position is already mapped.
+     *
+     * @param position in the file of the next value to be read
+     * @throws IOException input/output exception or position outside the file
+     */
+    public void seek(final long position) throws IOException {
+        if (position < 0 || position > fileSize) {
+            throw new EOFException("Position outside the binary file: " + position);
+        }
+        if (position >= windowStart && position <= windowStart + window.limit()) {
+            window.position((int) (position - windowStart));
+        } else {
+            map(position);
+        }
+    }
+
+    /**
+     * @return the number of bytes of the file
+     */
+    public long size() {
+        return fileSize;
+    }
+
+    /**
+     * @return the next value of the file
+     * @throws IOException input/output exception
+     */
+    public long readLong() throws IOException {
+        ensure(Long.BYTES);
+        return window.getLong();
+    }
+
+    /**
+     * @return the next value of the file
+     * @throws IOException input/output exception
+     */
+    public int readInt() throws IOException {
+        ensure(Integer.BYTES);
+        return window.getInt();
+    }
+
+    /**
+     * @return the next value of the file
+     * @throws IOException input/output exception
+     */
+    public double readDouble() throws IOException {
+        ensure(Double.BYTES);
+        return window.getDouble();
+    }
+
+    /**
+     * @return the next value of the file, written as one byte
+     * @throws IOException input/output exception
+     */
+    public boolean readBoolean() throws IOException {
+        ensure(Byte.BYTES);
+        return window.get() != 0;
+    }
+
+    /**
+     * Reads the next values of the file into the beginning of an array.
+     *
+     * @param values array receiving the values
+     * @param count  number of values to be read
+     * @throws IOException input/output exception
+     */
+    public void readLongs(final long[] values, final int count) throws IOException {
+        int i = 0;
+        while (i < count) {
+            ensure(Long.BYTES);
+            // the values found in the current window are copied at once
+            int length = Math.min(count - i, window.remaining() / Long.BYTES);
+            window.asLongBuffer().get(values, i, length);
+            window.position(window.position() + length * Long.BYTES);
+            i += length;
+        }
+    }
+
+    /**
+     * Reads the next values of the file into the beginning of an array.
+     *
+     * @param values array receiving the values
+     * @param count  number of values to be read
+     * @throws IOException input/output exception
+     */
+    public void readInts(final int[] values, final int count) throws IOException {
+        for (int i = 0; i < count; ++i) {
+            values[i] = readInt();
+        }
+    }
+
+    /**
+     * Reads the next values of the file into the beginning of an array.
+     *
+     * @param values array receiving the values
+     * @param count  number of values to be read
+     * @throws IOException input/output exception
+     */
+    public void readDoubles(final double[] values, final int count) throws IOException {
+        for (int i = 0; i < count; ++i) {
+            values[i] = readDouble();
+        }
+    }
+
+    /**
+     * Closes the binary file.
+     *
+     * @throws IOException input/output exception
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
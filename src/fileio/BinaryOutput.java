@@ -0,0 +1,161 @@
+package fileio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary writer of checkpoint and scenario files. The values are written in little endian order
+ * through a direct buffer flushed to a file channel, with fixed widths, so the file can be
+ * memory-mapped when it is read back.
+ */
+public final class BinaryOutput implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1_048_576; // bytes of the buffer flushed to the file
+    private final FileChannel channel; // channel of the binary file
+    private final ByteBuffer buffer; // values not yet written to the channel
+    private long flushedBytes; // number of bytes already written to the channel
+
+    /**
+     * Class constructor with one parameter.
+     *
+     * @param path of the binary file, replaced if it exists
+     * @throws IOException input/output exception
+     */
+    public BinaryOutput(final Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Makes room in the buffer for the given number of bytes. Private method designed for the
+     * current class.
+     *
+     * @param bytes number of bytes about to be written
+     * @throws IOException input/output exception
+     */
+    private void ensure(final int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the buffered values to the file. Private method designed for the current class.
+     *
+     * @throws IOException input/output exception
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            flushedBytes += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * @return the position in the file of the next value to be written
+     */
+    public long position() {
+        return flushedBytes + buffer.position();
+    }
+
+    /**
+     * @param value to be written
+     * @throws IOException input/output exception
+     */
+    public void writeLong(final long value) throws IOException {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    /**
+     * @param value to be written
+     * @throws IOException input/output exception
+     */
+    public void writeInt(final int value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    /**
+     * @param value to be written
+     * @throws IOException input/output exception
+     */
+    public void writeDouble(final double value) throws IOException {
+        ensure(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    /**
+     * @param value to be written, as one byte
+     * @throws IOException input/output exception
+     */
+    public void writeBoolean(final boolean value) throws IOException {
+        ensure(Byte.BYTES);
+        buffer.put((byte) (value ? 1 : 0));
+    }
+
+    /**
+     * Writes the first values of an array.
+     *
+     * @param values array holding the values
+     * @param count  number of values to be written
+     * @throws IOException input/output exception
+     */
+    public void writeLongs(final long[] values, final int count) throws IOException {
+        int i = 0;
+        while (i < count) {
+            ensure(Long.BYTES);
+            // as many values as fit in the buffer are copied at once
+            int length = Math.min(count - i, buffer.remaining() / Long.BYTES);
+            buffer.asLongBuffer().put(values, i, length);
+            buffer.position(buffer.position() + length * Long.BYTES);
+            i += length;
+        }
+    }
+
+    /**
+     * Writes the first values of an array.
+     *
+     * @param values array holding the values
+     * @param count  number of values to be written
+     * @throws IOException input/output exception
+     */
+    public void writeInts(final int[] values, final int count) throws IOException {
+        for (int i = 0; i < count; ++i) {
+            writeInt(values[i]);
+        }
+    }
+
+    /**
+     * Writes the first values of an array.
+     *
+     * @param values array holding the values
+     * @param count  number of values to be written
+     * @throws IOException input/output exception
+     */
+    public void writeDoubles(final double[] values, final int count) throws IOException {
+        for (int i = 0; i < count; ++i) {
+            writeDouble(values[i]);
+        }
+    }
+
+    /**
+     * Writes the remaining values and forces them to the storage device.
+     *
+     * @throws IOException input/output exception
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+}
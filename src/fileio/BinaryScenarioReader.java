@@ -0,0 +1,227 @@
+package fileio;
+
+import consumer.ConsumersDB;
+
+import distributor.Distributor;
+import distributor.DistributorsDB;
+
+import entities.EnergyType;
+
+import game.MonthlyUpdate;
+
+import producer.Producer;
+import producer.ProducersDB;
+
+import strategies.EnergyChoiceStrategyType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader of a binary scenario file, written by the scenario converter. The file is memory-mapped
+ * and the entities are built straight from its columns of fixed width values, without any
+ * intermediate json object.
+ *
+ * <p>Layout of the file, all values being little endian:
+ * <ul>
+ * <li>header: magic number (int), version (int), number of turns (long);</li>
+ * <li>consumers section: count (int), then the columns of ids, initial budgets and monthly
+ * incomes (longs);</li>
+ * <li>distributors section: count (int), then the columns of ids, contract lengths, initial
+ * budgets, initial infrastructure costs, energies needed (longs) and strategies (int
+ * ordinals);</li>
+ * <li>producers section: count (int), then the columns of ids (longs), energy types (int
+ * ordinals), maximum numbers of distributors (longs), prices per KW (doubles) and energies per
+ * distributor (longs);</li>
+ * <li>one block for each monthly update: a consumers section of the new consumers, the count
+ * (int) and the columns of ids and infrastructure costs (longs) of the distributor changes, the
+ * count (int) and the columns of ids and energies per distributor (longs) of the producer
+ * changes;</li>
+ * <li>offset index: the positions of the three sections of the initial data set followed by the
+ * positions of the monthly update blocks (longs);</li>
+ * <li>trailer: the position of the offset index (long).</li>
+ * </ul>
+ */
+public final class BinaryScenarioReader implements ScenarioReader {
+    static final int MAGIC = 0x4e435345; // marks the beginning of a binary scenario file
+    static final int VERSION = 1; // version of the format of the binary scenario file
+    static final int CONSUMERS = 0; // index entry of the consumers section
+    static final int DISTRIBUTORS = 1; // index entry of the distributors section
+    static final int PRODUCERS = 2; // index entry of the producers section
+    static final int UPDATES = 3; // index entry of the first monthly update block
+    // bytes of the header: magic number, version and number of turns
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + Long.BYTES;
+    private final BinaryInput in; // mapped scenario file
+    private final long numberOfTurns; // number of turns of the game
+    private final long[] offsets; // positions of the sections and of the update blocks
+    private long nextMonth; // month of the next update to be read
+
+    /**
+     * Class constructor with one parameter. Reads the header and the offset index.
+     *
+     * @param path of the binary scenario file
+     * @throws IOException input/output exception or invalid scenario file
+     */
+    public BinaryScenarioReader(final String path) throws IOException {
+        in = new BinaryInput(Paths.get(path));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            in.close();
+            throw new IOException("Not a binary scenario file: " + path);
+        }
+        numberOfTurns = in.readLong();
+        long trailerPosition = in.size() - Long.BYTES;
+        in.seek(trailerPosition);
+        long indexPosition = in.readLong();
+        // the offset index lies between the header and the trailer, with one position for each
+        // section of the initial data set and for each monthly update
+        if (numberOfTurns < 0 || numberOfTurns > trailerPosition / Long.BYTES
+                || indexPosition < HEADER_BYTES || indexPosition > trailerPosition
+                || trailerPosition - indexPosition != (UPDATES + numberOfTurns) * Long.BYTES) {
+            in.close();
+            throw new IOException("Invalid number of turns or offset index in binary scenario "
+                    + "file: " + path);
+        }
+        in.seek(indexPosition);
+        offsets = new long[UPDATES + (int) numberOfTurns];
+        in.readLongs(offsets, offsets.length);
+    }
+
+    /**
+     * Verifies whether a file starts like a binary scenario file.
+     *
+     * @param path of the file
+     * @return true for a binary scenario file, false otherwise
+     * @throws IOException input/output exception
+     */
+    public static boolean isBinaryScenario(final String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            return channel.read(header) == Integer.BYTES && header.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Reads a column of values. Private method designed for the current class.
+     *
+     * @param count number of values of the column
+     * @return the values of the column
+     * @throws IOException input/output exception
+     */
+    private long[] readLongColumn(final int count) throws IOException {
+        long[] column = new long[count];
+        in.readLongs(column, count);
+        return column;
+    }
+
+    /**
+     * Reads a column of values. Private method designed for the current class.
+     *
+     * @param count number of values of the column
+     * @return the values of the column
+     * @throws IOException input/output exception
+     */
+    private int[] readIntColumn(final int count) throws IOException {
+        int[] column = new int[count];
+        in.readInts(column, count);
+        return column;
+    }
+
+    @Override
+    public long getNumberOfTurns() {
+        return numberOfTurns;
+    }
+
+    @Override
+    public ConsumersDB loadConsumers() throws IOException {
+        in.seek(offsets[CONSUMERS]);
+        int count = in.readInt();
+        long[] ids = readLongColumn(count);
+        long[] budgets = readLongColumn(count);
+        long[] incomes = readLongColumn(count);
+        ConsumersDB consumersDatabase = new ConsumersDB();
+        for (int i = 0; i < count; ++i) {
+            consumersDatabase.addConsumer(ids[i], budgets[i], incomes[i]);
+        }
+        return consumersDatabase;
+    }
+
+    @Override
+    public DistributorsDB loadDistributors() throws IOException {
+        in.seek(offsets[DISTRIBUTORS]);
+        int count = in.readInt();
+        long[] ids = readLongColumn(count);
+        long[] contractLengths = readLongColumn(count);
+        long[] budgets = readLongColumn(count);
+        long[] infrastructureCosts = readLongColumn(count);
+        long[] energiesNeeded = readLongColumn(count);
+        int[] strategies = readIntColumn(count);
+        EnergyChoiceStrategyType[] strategyTypes = EnergyChoiceStrategyType.values();
+        List<Distributor> distributors = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            distributors.add(new Distributor(ids[i], contractLengths[i], budgets[i],
+                    infrastructureCosts[i], energiesNeeded[i], strategyTypes[strategies[i]]));
+        }
+        return new DistributorsDB(distributors);
+    }
+
+    @Override
+    public ProducersDB loadProducers() throws IOException {
+        in.seek(offsets[PRODUCERS]);
+        int count = in.readInt();
+        long[] ids = readLongColumn(count);
+        int[] energyTypes = readIntColumn(count);
+        long[] maxDistributors = readLongColumn(count);
+        double[] pricesKW = new double[count];
+        in.readDoubles(pricesKW, count);
+        long[] energiesPerDistributor = readLongColumn(count);
+        EnergyType[] types = EnergyType.values();
+        List<Producer> producers = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            producers.add(new Producer(ids[i], types[energyTypes[i]], maxDistributors[i],
+                    pricesKW[i], energiesPerDistributor[i]));
+        }
+        return new ProducersDB(producers);
+    }
+
+    @Override
+    public MonthlyUpdate nextUpdate() throws IOException {
+        if (nextMonth >= numberOfTurns) {
+            return null;
+        }
+        in.seek(offsets[UPDATES + (int) nextMonth++]);
+        int consumers = in.readInt();
+        long[] consumerIds = readLongColumn(consumers);
+        long[] consumerBudgets = readLongColumn(consumers);
+        long[] consumerIncomes = readLongColumn(consumers);
+        int distributorChanges = in.readInt();
+        long[] distributorIds = readLongColumn(distributorChanges);
+        long[] infrastructureCosts = readLongColumn(distributorChanges);
+        int producerChanges = in.readInt();
+        long[] producerIds = readLongColumn(producerChanges);
+        long[] energiesPerDistributor = readLongColumn(producerChanges);
+        return new ColumnarUpdate(consumerIds, consumerBudgets, consumerIncomes, distributorIds,
+                infrastructureCosts, producerIds, energiesPerDistributor);
+    }
+
+    /**
+     * Skips the updates of the given number of months in constant time, through the offset
+     * index.
+     *
+     * @param count number of updates to be skipped
+     */
+    @Override
+    public void skipUpdates(final long count) {
+        nextMonth = Math.min(numberOfTurns, nextMonth + count);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,128 @@
+package fileio;
+
+import consumer.ConsumersDB;
+
+import distributor.DistributorsDB;
+
+import producer.ProducersDB;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Binary checkpoint of the whole state of a game after a turn. The file starts with a header
+ * holding the number of played turns, followed by the producers, the distributors and the
+ * consumers, in this order, so each of them can be linked to the ones already restored. The
+ * memberships, which link them the other way around, are written at the end: the distributors
+ * supplied by each producer and the clients of each distributor.
+ */
+public final class Checkpoint {
+    private static final int MAGIC = 0x45534350; // marks the beginning of a checkpoint file
+    private static final int VERSION = 2; // version of the format of the checkpoint file
+    private final long playedTurns; // number of turns played before the checkpoint
+    private final long numberOfTurns; // total number of turns of the game
+    private final ConsumersDB consumersDatabase; // database of all consumers
+    private final DistributorsDB distributorsDatabase; // database of all distributors
+    private final ProducersDB producersDatabase; // database of all producers
+
+    /**
+     * Class constructor with five parameters. Private method designed for the current class.
+     *
+     * @param playedTurns          number of turns played before the checkpoint
+     * @param numberOfTurns        total number of turns of the game
+     * @param consumersDatabase    database of all consumers
+     * @param distributorsDatabase database of all distributors
+     * @param producersDatabase    database of all producers
+     */
+    private Checkpoint(final long playedTurns, final long numberOfTurns,
+                       final ConsumersDB consumersDatabase,
+                       final DistributorsDB distributorsDatabase,
+                       final ProducersDB producersDatabase) {
+        this.playedTurns = playedTurns;
+        this.numberOfTurns = numberOfTurns;
+        this.consumersDatabase = consumersDatabase;
+        this.distributorsDatabase = distributorsDatabase;
+        this.producersDatabase = producersDatabase;
+    }
+
+    /**
+     * Writes the state of the game to a checkpoint file. The state is written to a temporary
+     * file first, which replaces the checkpoint file only once complete, so a crash while
+     * writing leaves the previous checkpoint in place.
+     *
+     * @param path                 of the checkpoint file
+     * @param playedTurns          number of turns played before the checkpoint
+     * @param numberOfTurns        total number of turns of the game
+     * @param consumersDatabase    database of all consumers
+     * @param distributorsDatabase database of all distributors
+     * @param producersDatabase    database of all producers
+     * @throws IOException input/output exception
+     */
+    public static void save(final String path, final long playedTurns, final long numberOfTurns,
+                            final ConsumersDB consumersDatabase,
+                            final DistributorsDB distributorsDatabase,
+                            final ProducersDB producersDatabase) throws IOException {
+        Path target = Paths.get(path);
+        Path temporary = Paths.get(path + ".tmp");
+        try (BinaryOutput out = new BinaryOutput(temporary)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(playedTurns);
+            out.writeLong(numberOfTurns);
+            producersDatabase.save(out);
+            distributorsDatabase.save(out);
+            consumersDatabase.save(out);
+            producersDatabase.saveSuppliedDistributors(out);
+            distributorsDatabase.saveClients(out);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores the state of a game from a checkpoint file.
+     *
+     * @param path of the checkpoint file
+     * @return the restored checkpoint
+     * @throws IOException input/output exception or invalid checkpoint file
+     */
+    public static Checkpoint load(final String path) throws IOException {
+        try (BinaryInput in = new BinaryInput(Paths.get(path))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a checkpoint file: " + path);
+            }
+            long playedTurns = in.readLong();
+            long numberOfTurns = in.readLong();
+            ProducersDB producersDatabase = ProducersDB.load(in);
+            DistributorsDB distributorsDatabase = DistributorsDB.load(in, producersDatabase);
+            ConsumersDB consumersDatabase = ConsumersDB.load(in, distributorsDatabase);
+            producersDatabase.loadSuppliedDistributors(in, distributorsDatabase);
+            distributorsDatabase.loadClients(in, consumersDatabase);
+            return new Checkpoint(playedTurns, numberOfTurns, consumersDatabase,
+                    distributorsDatabase, producersDatabase);
+        }
+    }
+
+    public long getPlayedTurns() {
+        return playedTurns;
+    }
+
+    public long getNumberOfTurns() {
+        return numberOfTurns;
+    }
+
+    public ConsumersDB getConsumersDatabase() {
+        return consumersDatabase;
+    }
+
+    public DistributorsDB getDistributorsDatabase() {
+        return distributorsDatabase;
+    }
+
+    public ProducersDB getProducersDatabase() {
+        return producersDatabase;
+    }
+}
@@ -0,0 +1,91 @@
+package fileio;
+
+import consumer.ConsumersDB;
+
+import distributor.DistributorsDB;
+
+import game.MonthlyUpdate;
+
+import producer.ProducersDB;
+
+/**
+ * Monthly update held as columns of primitive values, read from a binary scenario file or pulled
+ * from the tokens of a json input file.
+ */
+public final class ColumnarUpdate implements MonthlyUpdate {
+    private final long[] consumerIds; // ids of the new consumers
+    private final long[] consumerBudgets; // initial budgets of the new consumers
+    private final long[] consumerIncomes; // monthly incomes of the new consumers
+    private final long[] distributorIds; // ids of the modified distributors
+    private final long[] infrastructureCosts; // new infrastructure costs, by distributor change
+    private final long[] producerIds; // ids of the modified producers
+    private final long[] energiesPerDistributor; // new energies supplied, by producer change
+
+    /**
+     * Class constructor with seven parameters.
+     *
+     * @param consumerIds            ids of the new consumers
+     * @param consumerBudgets        initial budgets of the new consumers
+     * @param consumerIncomes        monthly incomes of the new consumers
+     * @param distributorIds         ids of the modified distributors
+     * @param infrastructureCosts    new infrastructure costs, by distributor change
+     * @param producerIds            ids of the modified producers
+     * @param energiesPerDistributor new energies supplied, by producer change
+     */
+    ColumnarUpdate(final long[] consumerIds, final long[] consumerBudgets,
+                   final long[] consumerIncomes, final long[] distributorIds,
+                   final long[] infrastructureCosts, final long[] producerIds,
+                   final long[] energiesPerDistributor) {
+        this.consumerIds = consumerIds;
+        this.consumerBudgets = consumerBudgets;
+        this.consumerIncomes = consumerIncomes;
+        this.distributorIds = distributorIds;
+        this.infrastructureCosts = infrastructureCosts;
+        this.producerIds = producerIds;
+        this.energiesPerDistributor = energiesPerDistributor;
+    }
+
+    @Override
+    public void apply(final ConsumersDB consumersDatabase,
+                      final DistributorsDB distributorsDatabase,
+                      final ProducersDB producersDatabase) {
+        for (int i = 0; i < consumerIds.length; ++i) {
+            consumersDatabase.addConsumer(consumerIds[i], consumerBudgets[i], consumerIncomes[i]);
+        }
+        for (int i = 0; i < distributorIds.length; ++i) {
+            distributorsDatabase.getDistributor(distributorIds[i])
+                    .updateDistributor(infrastructureCosts[i]);
+        }
+        // all the producer changes of the month are applied at once and the affected
+        // distributors queue themselves for updating their suppliers
+        producersDatabase.updateProducers(producerIds, energiesPerDistributor, producerIds.length);
+    }
+
+    long[] getConsumerIds() {
+        return consumerIds;
+    }
+
+    long[] getConsumerBudgets() {
+        return consumerBudgets;
+    }
+
+    long[] getConsumerIncomes() {
+        return consumerIncomes;
+    }
+
+    long[] getDistributorIds() {
+        return distributorIds;
+    }
+
+    long[] getInfrastructureCosts() {
+        return infrastructureCosts;
+    }
+
+    long[] getProducerIds() {
+        return producerIds;
+    }
+
+    long[] getEnergiesPerDistributor() {
+        return energiesPerDistributor;
+    }
+}
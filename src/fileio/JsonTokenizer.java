@@ -0,0 +1,612 @@
+package fileio;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Pull parser of a json file, returning its values one at a time as primitives, without
+ * building json objects or boxing numbers. The names and the strings are returned through a
+ * small cache, so the keys and the enum values repeated by every entity are allocated once.
+ * The tokenizer keeps the stack of the objects and arrays being read, so it requires a colon
+ * after each name and a comma between the entries of an object and the elements of an array,
+ * reporting the position of the file where one is missing.
+ */
+final class JsonTokenizer implements AutoCloseable {
+    private static final int BUFFER_SIZE = 65_536; // characters read from the file at once
+    private static final int TEXT_SIZE = 64; // initial capacity of the text of a token
+    private static final int CACHE_SIZE = 256; // slots of the strings cache, a power of two
+    private static final int HASH_MULTIPLIER = 31; // multiplier of the strings' hash codes
+    private static final int DECIMAL_RADIX = 10; // radix of the integers
+    private static final int HEX_RADIX = 16; // radix of the unicode escapes
+    private static final int UNICODE_DIGITS = 4; // hexadecimal digits of a unicode escape
+    private static final int INITIAL_DEPTH = 16; // initial capacity of the stack of containers
+    // largest mantissa of a number converted exactly to a double
+    private static final long MAX_EXACT_MANTISSA = 9_007_199_254_740_992L;
+    private static final int MAX_EXACT_POWER = 22; // largest power of ten held exactly by a double
+    // powers of ten held exactly by a double, by exponent
+    private static final double[] POWERS_OF_TEN = new double[MAX_EXACT_POWER + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_EXACT_POWER; ++i) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * DECIMAL_RADIX;
+        }
+    }
+
+    private final Reader reader; // reader of the json file
+    private final char[] buffer; // characters read from the file
+    private int position; // position in the buffer of the next character
+    private int limit; // number of characters held by the buffer
+    private long consumed; // number of characters of the file before the buffer
+    private char[] text; // characters of the last string or number
+    private int textLength; // number of characters of the last string or number
+    private final String[] cache; // strings already returned, by hash code
+    private int cached; // number of strings in the cache
+    private boolean[] objects; // whether each open container is an object, else an array
+    private boolean[] started; // whether each open container already has an entry or element
+    private int depth; // number of open containers
+    private boolean separated; // whether the comma before the next entry was already consumed
+    private boolean named; // whether a name was read and its value was not read yet
+
+    /**
+     * Class constructor with one parameter.
+     *
+     * @param reader of the json file
+     */
+    JsonTokenizer(final Reader reader) {
+        this.reader = reader;
+        buffer = new char[BUFFER_SIZE];
+        text = new char[TEXT_SIZE];
+        cache = new String[CACHE_SIZE];
+        objects = new boolean[INITIAL_DEPTH];
+        started = new boolean[INITIAL_DEPTH];
+    }
+
+    /**
+     * Returns the next character of the file without consuming it, reading the file further if
+     * the buffer was consumed. Private method designed for the current class.
+     *
+     * @return the next character, -1 at the end of the file
+     * @throws IOException input/output exception
+     */
+    private int peekChar() throws IOException {
+        if (position == limit) {
+            consumed += limit;
+            position = 0;
+            limit = Math.max(reader.read(buffer, 0, BUFFER_SIZE), 0);
+            if (limit == 0) {
+                return -1;
+            }
+        }
+        return buffer[position];
+    }
+
+    /**
+     * Skips the white space. Private method designed for the current class.
+     *
+     * @return the next character after it, not consumed, -1 at the end of the file
+     * @throws IOException input/output exception
+     */
+    private int skipWhiteSpace() throws IOException {
+        int c = peekChar();
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            position++;
+            c = peekChar();
+        }
+        return c;
+    }
+
+    /**
+     * Returns an exception pointing to the current position of the file. Private method designed
+     * for the current class.
+     *
+     * @param message describing the error
+     * @return the exception to be thrown
+     */
+    private IOException error(final String message) {
+        return new IOException(message + " at character " + (consumed + position));
+    }
+
+    /**
+     * Consumes the given character, after the white space. Private method designed for the
+     * current class.
+     *
+     * @param expected character
+     * @throws IOException input/output exception or another character found
+     */
+    private void expect(final char expected) throws IOException {
+        if (skipWhiteSpace() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+        position++;
+    }
+
+    /**
+     * Consumes the comma preceding a new entry or element of the current container, unless it
+     * is the first one or the comma was already consumed by hasNext. Private method designed
+     * for the current class.
+     *
+     * @throws IOException input/output exception or missing comma
+     */
+    private void beforeEntry() throws IOException {
+        if (depth == 0) {
+            return;
+        }
+        if (started[depth - 1] && !separated) {
+            expect(',');
+        }
+        separated = false;
+        started[depth - 1] = true;
+    }
+
+    /**
+     * Prepares the reading of a value: inside an object the value must follow a name, while
+     * inside an array it is a new element. Private method designed for the current class.
+     *
+     * @throws IOException input/output exception or value without a name
+     */
+    private void beforeValue() throws IOException {
+        if (depth > 0 && objects[depth - 1]) {
+            if (!named) {
+                throw error("Expected a name");
+            }
+            named = false;
+        } else {
+            beforeEntry();
+        }
+    }
+
+    /**
+     * Opens a new object or array, after consuming its opening character. Private method
+     * designed for the current class.
+     *
+     * @param object true for an object, false for an array
+     * @throws IOException input/output exception or another character found
+     */
+    private void openContainer(final boolean object) throws IOException {
+        beforeValue();
+        expect(object ? '{' : '[');
+        if (depth == objects.length) {
+            objects = Arrays.copyOf(objects, depth * 2);
+            started = Arrays.copyOf(started, depth * 2);
+        }
+        objects[depth] = object;
+        started[depth] = false;
+        depth++;
+    }
+
+    /**
+     * Closes the current object or array, after consuming its closing character. Private
+     * method designed for the current class.
+     *
+     * @param object true for an object, false for an array
+     * @throws IOException input/output exception, another character found or trailing comma
+     */
+    private void closeContainer(final boolean object) throws IOException {
+        if (depth == 0 || objects[depth - 1] != object) {
+            throw error("No " + (object ? "object" : "array") + " to be closed");
+        }
+        if (separated || named) {
+            throw error(separated ? "Trailing comma" : "Expected a value");
+        }
+        expect(object ? '}' : ']');
+        depth--;
+    }
+
+    /**
+     * Appends a character to the text of the current token. Private method designed for the
+     * current class.
+     *
+     * @param c character to be appended
+     */
+    private void append(final int c) {
+        if (textLength == text.length) {
+            text = Arrays.copyOf(text, textLength * 2);
+        }
+        text[textLength++] = (char) c;
+    }
+
+    /**
+     * Reads the characters of a string up to its closing quote, which is consumed, replacing
+     * the escape sequences. Private method designed for the current class.
+     *
+     * @throws IOException input/output exception or unterminated string
+     */
+    private void readText() throws IOException {
+        textLength = 0;
+        while (true) {
+            int c = peekChar();
+            if (c == -1) {
+                throw error("Unterminated string");
+            }
+            position++;
+            if (c == '"') {
+                return;
+            }
+            append(c == '\\' ? readEscape() : c);
+        }
+    }
+
+    /**
+     * Reads the character following a backslash. Private method designed for the current class.
+     *
+     * @return the character replacing the escape sequence
+     * @throws IOException input/output exception or invalid escape sequence
+     */
+    private int readEscape() throws IOException {
+        int c = peekChar();
+        position++;
+        switch (c) {
+            case 'b' -> {
+                return '\b';
+            }
+            case 'f' -> {
+                return '\f';
+            }
+            case 'n' -> {
+                return '\n';
+            }
+            case 'r' -> {
+                return '\r';
+            }
+            case 't' -> {
+                return '\t';
+            }
+            case 'u' -> {
+                int code = 0;
+                for (int i = 0; i < UNICODE_DIGITS; ++i) {
+                    int digit = Character.digit(peekChar(), HEX_RADIX);
+                    if (digit < 0) {
+                        throw error("Invalid unicode escape");
+                    }
+                    position++;
+                    code = code * HEX_RADIX + digit;
+                }
+                return code;
+            }
+            case -1 -> throw error("Unterminated string");
+            default -> {
+                return c; // quote, backslash or slash
+            }
+        }
+    }
+
+    /**
+     * Verifies whether a string holds the text of the current token. Private method designed
+     * for the current class.
+     *
+     * @param string to be compared
+     * @return true if the string holds the same characters, false otherwise
+     */
+    private boolean isText(final String string) {
+        if (string.length() != textLength) {
+            return false;
+        }
+        for (int i = 0; i < textLength; ++i) {
+            if (string.charAt(i) != text[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the text of the current token as a string, taken from the cache if the same text
+     * was returned before. Private method designed for the current class.
+     *
+     * @return the text of the current token
+     */
+    private String cachedText() {
+        int hash = 0;
+        for (int i = 0; i < textLength; ++i) {
+            hash = HASH_MULTIPLIER * hash + text[i];
+        }
+        int slot = hash & (CACHE_SIZE - 1);
+        while (cache[slot] != null) {
+            if (isText(cache[slot])) {
+                return cache[slot];
+            }
+            slot = (slot + 1) & (CACHE_SIZE - 1);
+        }
+        String string = new String(text, 0, textLength);
+        // the cache is kept half empty, so the probing stays short
+        if (cached < CACHE_SIZE / 2) {
+            cache[slot] = string;
+            cached++;
+        }
+        return string;
+    }
+
+    /**
+     * Consumes the beginning of an object.
+     *
+     * @throws IOException input/output exception or no object found
+     */
+    void beginObject() throws IOException {
+        openContainer(true);
+    }
+
+    /**
+     * Consumes the end of an object.
+     *
+     * @throws IOException input/output exception or the object has more entries
+     */
+    void endObject() throws IOException {
+        closeContainer(true);
+    }
+
+    /**
+     * Consumes the beginning of an array.
+     *
+     * @throws IOException input/output exception or no array found
+     */
+    void beginArray() throws IOException {
+        openContainer(false);
+    }
+
+    /**
+     * Consumes the end of an array.
+     *
+     * @throws IOException input/output exception or the array has more elements
+     */
+    void endArray() throws IOException {
+        closeContainer(false);
+    }
+
+    /**
+     * Verifies whether the current object or array has more entries or elements, consuming the
+     * comma preceding the next one.
+     *
+     * @return true if a name or a value follows, false at the end of the object or array
+     * @throws IOException input/output exception, missing comma or trailing comma
+     */
+    boolean hasNext() throws IOException {
+        int c = skipWhiteSpace();
+        if (c == '}' || c == ']' || c == -1) {
+            return false;
+        }
+        if (depth > 0 && started[depth - 1] && !separated) {
+            expect(',');
+            separated = true;
+            c = skipWhiteSpace();
+            if (c == '}' || c == ']' || c == -1) {
+                throw error("Trailing comma");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the name of the next entry of the current object and the colon following it.
+     * Private method designed for the current class.
+     *
+     * @throws IOException input/output exception, no name found or missing colon
+     */
+    private void readName() throws IOException {
+        if (depth == 0 || !objects[depth - 1] || named) {
+            throw error("Expected a value");
+        }
+        beforeEntry();
+        expect('"');
+        readText();
+        expect(':');
+        named = true;
+    }
+
+    /**
+     * @return the name of the next entry of the current object
+     * @throws IOException input/output exception, no name found or missing colon
+     */
+    String nextName() throws IOException {
+        readName();
+        return cachedText();
+    }
+
+    /**
+     * @return the next string value
+     * @throws IOException input/output exception or no string found
+     */
+    String nextString() throws IOException {
+        beforeValue();
+        expect('"');
+        readText();
+        return cachedText();
+    }
+
+    /**
+     * @return the next integer value
+     * @throws IOException input/output exception, no integer found or integer out of the range
+     *                     of a long
+     */
+    long nextLong() throws IOException {
+        beforeValue();
+        boolean negative = skipWhiteSpace() == '-';
+        if (negative) {
+            position++;
+        }
+        // the value is accumulated with the sign of the result, so the smallest long fits
+        long value = 0;
+        int digits = 0;
+        int c = peekChar();
+        while (c >= '0' && c <= '9') {
+            int digit = c - '0';
+            try {
+                value = Math.addExact(Math.multiplyExact(value, DECIMAL_RADIX),
+                        negative ? -digit : digit);
+            } catch (ArithmeticException e) {
+                throw error("Integer out of range");
+            }
+            digits++;
+            position++;
+            c = peekChar();
+        }
+        if (digits == 0 || c == '.' || c == 'e' || c == 'E') {
+            throw error("Expected an integer");
+        }
+        return value;
+    }
+
+    /**
+     * Appends the decimal digits found at the current position to the text of the current
+     * token. Private method designed for the current class.
+     *
+     * @return the number of digits
+     * @throws IOException input/output exception
+     */
+    private int appendDigits() throws IOException {
+        int digits = 0;
+        int c = peekChar();
+        while (c >= '0' && c <= '9') {
+            append(c);
+            digits++;
+            position++;
+            c = peekChar();
+        }
+        return digits;
+    }
+
+    /**
+     * Returns the next number value. The digits are gathered into a long mantissa and a
+     * decimal scale, so the numbers with at most 15 or 16 significant digits and a small
+     * exponent, such as the prices of the input files, are converted exactly without any
+     * allocation; the longer ones are converted by Double.parseDouble from a string.
+     *
+     * @return the next number value
+     * @throws IOException input/output exception or no number found
+     */
+    double nextDouble() throws IOException {
+        beforeValue();
+        textLength = 0;
+        int c = skipWhiteSpace();
+        if (c == '-') {
+            append(c);
+            position++;
+        }
+        if (appendDigits() == 0) {
+            throw error("Expected a number");
+        }
+        int fractionDigits = 0;
+        if (peekChar() == '.') {
+            append('.');
+            position++;
+            fractionDigits = appendDigits();
+            if (fractionDigits == 0) {
+                throw error("Expected a digit");
+            }
+        }
+        int exponent = 0;
+        c = peekChar();
+        if (c == 'e' || c == 'E') {
+            append(c);
+            position++;
+            int exponentStart = textLength;
+            c = peekChar();
+            if (c == '-' || c == '+') {
+                append(c);
+                position++;
+            }
+            if (appendDigits() == 0) {
+                throw error("Expected a digit");
+            }
+            exponent = parseExponent(exponentStart);
+        }
+        return toDouble(fractionDigits, exponent);
+    }
+
+    /**
+     * Returns the exponent of the current number, saturated far beyond the range of doubles.
+     * Private method designed for the current class.
+     *
+     * @param start position in the text of the current token of the exponent's sign or digits
+     * @return the exponent
+     */
+    private int parseExponent(final int start) {
+        boolean negative = text[start] == '-';
+        int exponent = 0;
+        for (int i = text[start] == '-' || text[start] == '+' ? start + 1 : start;
+             i < textLength; ++i) {
+            exponent = Math.min(exponent * DECIMAL_RADIX + (text[i] - '0'), Short.MAX_VALUE);
+        }
+        return negative ? -exponent : exponent;
+    }
+
+    /**
+     * Converts the number held by the text of the current token. Private method designed for
+     * the current class.
+     *
+     * @param fractionDigits number of digits after the decimal point
+     * @param exponent       decimal exponent of the number
+     * @return the value of the number
+     */
+    private double toDouble(final int fractionDigits, final int exponent) {
+        boolean negative = text[0] == '-';
+        long mantissa = 0;
+        boolean exact = true;
+        for (int i = negative ? 1 : 0; i < textLength && exact; ++i) {
+            char c = text[i];
+            if (c == 'e' || c == 'E') {
+                break;
+            }
+            if (c != '.') {
+                mantissa = mantissa * DECIMAL_RADIX + (c - '0');
+                exact = mantissa <= MAX_EXACT_MANTISSA;
+            }
+        }
+        int scale = exponent - fractionDigits;
+        if (!exact || scale > MAX_EXACT_POWER || scale < -MAX_EXACT_POWER) {
+            // the mantissa or the power of ten is not held exactly by a double, so a single
+            // operation would not round correctly
+            return Double.parseDouble(new String(text, 0, textLength));
+        }
+        double value = scale < 0 ? mantissa / POWERS_OF_TEN[-scale]
+                : mantissa * POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Skips the next value, whatever its type, along with all the values it contains.
+     *
+     * @throws IOException input/output exception or unterminated value
+     */
+    void skipValue() throws IOException {
+        int c = skipWhiteSpace();
+        if (c == '{' || c == '[') {
+            boolean object = c == '{';
+            openContainer(object);
+            while (hasNext()) {
+                if (object) {
+                    readName();
+                }
+                skipValue();
+            }
+            closeContainer(object);
+        } else if (c == '"') {
+            beforeValue();
+            position++;
+            readText();
+        } else {
+            beforeValue();
+            // number or literal, up to the next separator or closing character
+            int length = 0;
+            while (c != -1 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+                length++;
+                position++;
+                c = peekChar();
+            }
+            if (length == 0) {
+                throw error("Expected a value");
+            }
+        }
+    }
+
+    /**
+     * Closes the json file.
+     *
+     * @throws IOException input/output exception
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
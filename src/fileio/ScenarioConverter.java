@@ -0,0 +1,194 @@
+package fileio;
+
+import consumer.Consumer;
+
+import distributor.Distributor;
+
+import game.MonthlyUpdate;
+
+import producer.Producer;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Converts a json input file to a binary scenario file, read by the binary scenario reader. The
+ * json file is pulled through the token scenario reader, one monthly update at a time, and each
+ * section is written as columns, the positions of the sections being gathered in the offset
+ * index written at the end.
+ */
+public final class ScenarioConverter {
+
+    private ScenarioConverter() {
+    }
+
+    /**
+     * Writes a consumers section, holding either the initial consumers or the new consumers of
+     * a month. Private method designed for the current class.
+     *
+     * @param out     binary file being written
+     * @param ids     column of the consumers' ids
+     * @param budgets column of the consumers' initial budgets
+     * @param incomes column of the consumers' monthly incomes
+     * @throws IOException input/output exception
+     */
+    private static void writeConsumers(final BinaryOutput out, final long[] ids,
+                                       final long[] budgets, final long[] incomes)
+            throws IOException {
+        out.writeInt(ids.length);
+        out.writeLongs(ids, ids.length);
+        out.writeLongs(budgets, budgets.length);
+        out.writeLongs(incomes, incomes.length);
+    }
+
+    /**
+     * Writes the initial consumers section. Private method designed for the current class.
+     *
+     * @param out       binary file being written
+     * @param consumers initial consumers, as loaded by the reader
+     * @throws IOException input/output exception
+     */
+    private static void writeConsumers(final BinaryOutput out, final List<Consumer> consumers)
+            throws IOException {
+        long[] ids = new long[consumers.size()];
+        long[] budgets = new long[consumers.size()];
+        long[] incomes = new long[consumers.size()];
+        for (int i = 0; i < ids.length; ++i) {
+            ids[i] = consumers.get(i).getId();
+            budgets[i] = consumers.get(i).getBudget();
+            incomes[i] = consumers.get(i).getMonthlyIncome();
+        }
+        writeConsumers(out, ids, budgets, incomes);
+    }
+
+    /**
+     * Writes the distributors section. Private method designed for the current class.
+     *
+     * @param out          binary file being written
+     * @param distributors distributors, as loaded by the reader
+     * @throws IOException input/output exception
+     */
+    private static void writeDistributors(final BinaryOutput out,
+                                          final List<Distributor> distributors)
+            throws IOException {
+        out.writeInt(distributors.size());
+        for (Distributor distributor : distributors) {
+            out.writeLong(distributor.getId());
+        }
+        for (Distributor distributor : distributors) {
+            out.writeLong(distributor.getContractLength());
+        }
+        for (Distributor distributor : distributors) {
+            out.writeLong(distributor.getBudget());
+        }
+        for (Distributor distributor : distributors) {
+            out.writeLong(distributor.getInfrastructureCost());
+        }
+        for (Distributor distributor : distributors) {
+            out.writeLong(distributor.getEnergyNeededKW());
+        }
+        for (Distributor distributor : distributors) {
+            out.writeInt(distributor.getProducerStrategy().ordinal());
+        }
+    }
+
+    /**
+     * Writes the producers section. Private method designed for the current class.
+     *
+     * @param out       binary file being written
+     * @param producers producers, as loaded by the reader
+     * @throws IOException input/output exception
+     */
+    private static void writeProducers(final BinaryOutput out, final List<Producer> producers)
+            throws IOException {
+        out.writeInt(producers.size());
+        for (Producer producer : producers) {
+            out.writeLong(producer.getId());
+        }
+        for (Producer producer : producers) {
+            out.writeInt(producer.getEnergyType().ordinal());
+        }
+        for (Producer producer : producers) {
+            out.writeLong(producer.getMaxDistributors());
+        }
+        for (Producer producer : producers) {
+            out.writeDouble(producer.getPriceKW());
+        }
+        for (Producer producer : producers) {
+            out.writeLong(producer.getEnergyPerDistributor());
+        }
+    }
+
+    /**
+     * Writes the block of a monthly update. Private method designed for the current class.
+     *
+     * @param out    binary file being written
+     * @param update monthly update, as columns pulled by the reader
+     * @throws IOException input/output exception
+     */
+    private static void writeUpdate(final BinaryOutput out, final ColumnarUpdate update)
+            throws IOException {
+        writeConsumers(out, update.getConsumerIds(), update.getConsumerBudgets(),
+                update.getConsumerIncomes());
+        long[] distributorIds = update.getDistributorIds();
+        out.writeInt(distributorIds.length);
+        out.writeLongs(distributorIds, distributorIds.length);
+        out.writeLongs(update.getInfrastructureCosts(), distributorIds.length);
+        long[] producerIds = update.getProducerIds();
+        out.writeInt(producerIds.length);
+        out.writeLongs(producerIds, producerIds.length);
+        out.writeLongs(update.getEnergiesPerDistributor(), producerIds.length);
+    }
+
+    /**
+     * Converts a json input file to a binary scenario file.
+     *
+     * @param inputPath  of the json input file
+     * @param outputPath of the binary scenario file, replaced if it exists
+     * @throws IOException input/output exception, invalid json input file or missing monthly
+     *                     updates
+     */
+    public static void convert(final String inputPath, final String outputPath)
+            throws IOException {
+        try (TokenScenarioReader inputReader = new TokenScenarioReader(inputPath);
+             BinaryOutput out = new BinaryOutput(Paths.get(outputPath))) {
+            long numberOfTurns = inputReader.getNumberOfTurns();
+            if (numberOfTurns < 0 || inputReader.loadConsumers() == null) {
+                throw new IOException("Missing number of turns or initial data in " + inputPath);
+            }
+            long[] offsets = new long[BinaryScenarioReader.UPDATES + (int) numberOfTurns];
+            out.writeInt(BinaryScenarioReader.MAGIC);
+            out.writeInt(BinaryScenarioReader.VERSION);
+            out.writeLong(numberOfTurns);
+            offsets[BinaryScenarioReader.CONSUMERS] = out.position();
+            writeConsumers(out, inputReader.loadConsumers().getConsumers());
+            offsets[BinaryScenarioReader.DISTRIBUTORS] = out.position();
+            writeDistributors(out, inputReader.loadDistributors().getDistributors());
+            offsets[BinaryScenarioReader.PRODUCERS] = out.position();
+            writeProducers(out, inputReader.loadProducers().getProducers());
+            for (int i = BinaryScenarioReader.UPDATES; i < offsets.length; ++i) {
+                MonthlyUpdate update = inputReader.nextUpdate();
+                if (update == null) {
+                    throw new IOException("Missing monthly updates in " + inputPath);
+                }
+                offsets[i] = out.position();
+                writeUpdate(out, (ColumnarUpdate) update);
+            }
+            long indexPosition = out.position();
+            out.writeLongs(offsets, offsets.length);
+            out.writeLong(indexPosition);
+        }
+    }
+
+    /**
+     * Converts the json input file given as first argument to the binary scenario file given
+     * as second argument.
+     *
+     * @param args json input file and binary scenario file
+     * @throws Exception might error when reading/writing files
+     */
+    public static void main(final String[] args) throws Exception {
+        convert(args[0], args[1]);
+    }
+}
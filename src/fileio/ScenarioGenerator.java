@@ -0,0 +1,345 @@
+package fileio;
+
+import entities.EnergyType;
+
+import strategies.EnergyChoiceStrategyType;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generator of synthetic input files for scale testing, in the structure read by the game. The
+ * entities are written to the buffered output stream one at a time, so the size of the generated
+ * file is not limited by the available memory. The same settings and seed always produce the same
+ * file.
+ *
+ * <p>Every file can be played to the end: a producer supplies at least MIN_ENERGY_SUPPLIED to
+ * each distributor, so a distributor needs a bounded number of suppliers, and the maximum numbers
+ * of distributors of the producers are sized from the suppliers needed by all the distributors,
+ * so that enough producers are left for any distributor choosing its suppliers.
+ *
+ * <p>Usage: ScenarioGenerator output [name=value ...], with the settings consumers,
+ * distributors, producers, turns, churn, seed, distributorBudget and energyMix, the latter given
+ * as TYPE:weight pairs separated by commas (for example WIND:3,COAL:1).
+ */
+public final class ScenarioGenerator {
+    private static final int MAX_CONTRACT_LENGTH = 12; // longest contract of a distributor
+    private static final int MAX_INFRASTRUCTURE_COST = 1000; // highest infrastructure cost
+    private static final int MAX_ENERGY_NEEDED = 5000; // highest energy need of a distributor
+    private static final int MIN_ENERGY_SUPPLIED = 500; // lowest energy of a producer
+    private static final int MAX_ENERGY_SUPPLIED = 2500; // highest energy of a producer
+    private static final double MAX_PRICE_KW = 0.1; // highest price per KW of a producer
+    private static final int MAX_BUDGET = 1000; // highest initial budget of a consumer
+    private static final int MIN_INCOME = 200; // lowest monthly income of a consumer
+    private static final int MAX_INCOME = 600; // highest monthly income of a consumer
+    private static final int DEFAULT_CONSUMERS = 1000;
+    private static final int DEFAULT_DISTRIBUTORS = 10;
+    private static final int DEFAULT_PRODUCERS = 20;
+    private static final int DEFAULT_TURNS = 12;
+    private static final double DEFAULT_CHURN = 0.01;
+    // large enough for the distributors to stay in game over all the turns
+    private static final long DEFAULT_DISTRIBUTOR_BUDGET = 1_000_000_000L;
+
+    private long consumers = DEFAULT_CONSUMERS; // number of initial consumers
+    private long distributors = DEFAULT_DISTRIBUTORS; // number of distributors
+    private long producers = DEFAULT_PRODUCERS; // number of producers
+    private long turns = DEFAULT_TURNS; // number of monthly updates
+    // share of the entities changed in each monthly update
+    private double churn = DEFAULT_CHURN;
+    private long seed; // seed of the random generator
+    private long distributorBudget = DEFAULT_DISTRIBUTOR_BUDGET; // budget of a distributor
+    // weights of the energy types of the producers, in the order of the enum
+    private final long[] energyMix = new long[EnergyType.values().length];
+    private Random random; // random generator of the file being written
+    private long maxEnergyNeeded; // highest energy need of a distributor of the file
+    private long neededSuppliers; // most suppliers needed by all the distributors at once
+    private long minMaxDistributors; // lowest maximum number of distributors of a producer
+    private BufferedWriter file; // the output file writer
+
+    /**
+     * Class constructor without parameters. All energy types are equally likely by default.
+     */
+    public ScenarioGenerator() {
+        Arrays.fill(energyMix, 1);
+    }
+
+    /**
+     * Sets one of the settings of the generator from its name and textual value.
+     *
+     * @param name  of the setting
+     * @param value of the setting
+     */
+    public void setOption(final String name, final String value) {
+        switch (name) {
+            case "consumers" -> {
+                consumers = Long.parseLong(value);
+            }
+            case "distributors" -> {
+                distributors = Long.parseLong(value);
+            }
+            case "producers" -> {
+                producers = Long.parseLong(value);
+            }
+            case "turns" -> {
+                turns = Long.parseLong(value);
+            }
+            case "churn" -> {
+                churn = Double.parseDouble(value);
+            }
+            case "seed" -> {
+                seed = Long.parseLong(value);
+            }
+            case "distributorBudget" -> {
+                distributorBudget = Long.parseLong(value);
+            }
+            case "energyMix" -> setEnergyMix(value);
+            default -> throw new IllegalArgumentException("Unknown setting " + name);
+        }
+    }
+
+    /**
+     * Sets the weights of the energy types from TYPE:weight pairs separated by commas, the types
+     * that are not given having weight 0. Private method designed for the current class.
+     *
+     * @param value pairs of energy types and weights
+     */
+    private void setEnergyMix(final String value) {
+        Arrays.fill(energyMix, 0);
+        for (String pair : value.split(",")) {
+            String[] typeAndWeight = pair.split(":");
+            energyMix[EnergyType.valueOf(typeAndWeight[0]).ordinal()] =
+                    Long.parseLong(typeAndWeight[1]);
+        }
+        if (Arrays.stream(energyMix).sum() <= 0) {
+            throw new IllegalArgumentException("The energy mix needs a positive weight");
+        }
+    }
+
+    /**
+     * Returns a random number between 0, inclusive, and the given bound, exclusive. Private
+     * method designed for the current class.
+     *
+     * @param bound upper bound of the number
+     * @return the random number
+     */
+    private long nextLong(final long bound) {
+        return Math.floorMod(random.nextLong(), bound);
+    }
+
+    /**
+     * Chooses the energy type of a producer according to the energy mix. Private method designed
+     * for the current class.
+     *
+     * @return the chosen energy type
+     */
+    private EnergyType nextEnergyType() {
+        long choice = nextLong(Arrays.stream(energyMix).sum());
+        for (EnergyType energyType : EnergyType.values()) {
+            choice -= energyMix[energyType.ordinal()];
+            if (choice < 0) {
+                return energyType;
+            }
+        }
+        throw new IllegalStateException("The energy mix needs a positive weight");
+    }
+
+    /**
+     * Returns the number of entities changed in each monthly update out of the given number of
+     * entities. Private method designed for the current class.
+     *
+     * @param count number of entities
+     * @return the number of changes of a month
+     */
+    private long changes(final long count) {
+        return Math.round(count * churn);
+    }
+
+    /**
+     * Writes the separator of an element of an array, unless the element is the first one.
+     * Private method designed for the current class.
+     *
+     * @param index of the element in the array
+     * @throws IOException input/output exception
+     */
+    private void separate(final long index) throws IOException {
+        if (index > 0) {
+            file.write(',');
+        }
+    }
+
+    /**
+     * Writes a consumer. Private method designed for the current class.
+     *
+     * @param id of the consumer
+     * @throws IOException input/output exception
+     */
+    private void writeConsumer(final long id) throws IOException {
+        file.write("{\"id\":" + id + ",\"initialBudget\":" + nextLong(MAX_BUDGET)
+                + ",\"monthlyIncome\":" + (MIN_INCOME + nextLong(MAX_INCOME)) + "}");
+    }
+
+    /**
+     * Returns the most suppliers a distributor may need, each of them supplying at least the
+     * lowest energy of a producer. Private method designed for the current class.
+     *
+     * @param energyNeeded energy need of the distributor
+     * @return the number of suppliers
+     */
+    private static long suppliers(final long energyNeeded) {
+        return (energyNeeded + MIN_ENERGY_SUPPLIED - 1) / MIN_ENERGY_SUPPLIED;
+    }
+
+    /**
+     * Returns a random energy supplied by a producer to each of its distributors. Private method
+     * designed for the current class.
+     *
+     * @return the energy supplied
+     */
+    private long nextEnergySupplied() {
+        return MIN_ENERGY_SUPPLIED + nextLong(MAX_ENERGY_SUPPLIED - MIN_ENERGY_SUPPLIED + 1);
+    }
+
+    /**
+     * Writes a distributor and counts the suppliers it may need. Private method designed for the
+     * current class.
+     *
+     * @param id of the distributor
+     * @throws IOException input/output exception
+     */
+    private void writeDistributor(final long id) throws IOException {
+        EnergyChoiceStrategyType[] strategies = EnergyChoiceStrategyType.values();
+        long energyNeeded = 1 + nextLong(maxEnergyNeeded);
+        neededSuppliers += suppliers(energyNeeded);
+        file.write("{\"id\":" + id + ",\"contractLength\":" + (1 + nextLong(MAX_CONTRACT_LENGTH))
+                + ",\"initialBudget\":" + distributorBudget
+                + ",\"initialInfrastructureCost\":" + nextLong(MAX_INFRASTRUCTURE_COST)
+                + ",\"energyNeededKW\":" + energyNeeded
+                + ",\"producerStrategy\":\""
+                + strategies[(int) nextLong(strategies.length)].getLabel() + "\"}");
+    }
+
+    /**
+     * Sizes the maximum numbers of distributors of the producers from the suppliers needed by
+     * all the distributors. Whatever the order of their choices, the distributors other than the
+     * one choosing fill at most neededSuppliers places, so at most neededSuppliers divided by
+     * the lowest maximum producers are full and the ones left are enough for the most suppliers
+     * a distributor may need. Private method designed for the current class.
+     */
+    private void sizeProducers() {
+        long maxSuppliers = suppliers(maxEnergyNeeded);
+        if (producers > maxSuppliers) {
+            long freeProducers = producers - maxSuppliers;
+            minMaxDistributors = Math.min(distributors,
+                    Math.max(1, (neededSuppliers + freeProducers - 1) / freeProducers));
+        } else {
+            // every producer supplies all the distributors
+            minMaxDistributors = distributors;
+        }
+    }
+
+    /**
+     * Writes a producer, supplying at least the lowest maximum number of distributors. Private
+     * method designed for the current class.
+     *
+     * @param id of the producer
+     * @throws IOException input/output exception
+     */
+    private void writeProducer(final long id) throws IOException {
+        file.write("{\"id\":" + id + ",\"energyType\":\"" + nextEnergyType().getLabel()
+                + "\",\"maxDistributors\":"
+                + (minMaxDistributors + nextLong(distributors - minMaxDistributors + 1))
+                + ",\"priceKW\":" + random.nextDouble() * MAX_PRICE_KW
+                + ",\"energyPerDistributor\":" + nextEnergySupplied() + "}");
+    }
+
+    /**
+     * Writes the update of a month, with its new consumers and the changes of the distributors
+     * and producers. Private method designed for the current class.
+     *
+     * @param firstConsumerId id of the first new consumer of the month
+     * @throws IOException input/output exception
+     */
+    private void writeUpdate(final long firstConsumerId) throws IOException {
+        file.write("{\"newConsumers\":[");
+        for (long i = 0; i < changes(consumers); ++i) {
+            separate(i);
+            writeConsumer(firstConsumerId + i);
+        }
+        file.write("],\"distributorChanges\":[");
+        for (long i = 0; i < changes(distributors); ++i) {
+            separate(i);
+            file.write("{\"id\":" + nextLong(distributors) + ",\"infrastructureCost\":"
+                    + nextLong(MAX_INFRASTRUCTURE_COST) + "}");
+        }
+        file.write("],\"producerChanges\":[");
+        for (long i = 0; i < changes(producers); ++i) {
+            separate(i);
+            file.write("{\"id\":" + nextLong(producers) + ",\"energyPerDistributor\":"
+                    + nextEnergySupplied() + "}");
+        }
+        file.write("]}");
+    }
+
+    /**
+     * Writes a new input file with the current settings.
+     *
+     * @param path of the generated input file
+     * @throws IOException input/output exception
+     */
+    public void generate(final String path) throws IOException {
+        if (distributors <= 0 || producers <= 0) {
+            throw new IllegalArgumentException("The game needs distributors and producers");
+        }
+        random = new Random(seed);
+        // the producers together supply at least the lowest energy to each distributor
+        maxEnergyNeeded = Math.min(MAX_ENERGY_NEEDED, producers * MIN_ENERGY_SUPPLIED);
+        neededSuppliers = 0;
+        try (BufferedWriter output = new BufferedWriter(new FileWriter(path))) {
+            file = output;
+            file.write("{\"numberOfTurns\":" + turns + ",\"initialData\":{\"consumers\":[");
+            for (long i = 0; i < consumers; ++i) {
+                separate(i);
+                writeConsumer(i);
+            }
+            file.write("],\"distributors\":[");
+            for (long i = 0; i < distributors; ++i) {
+                separate(i);
+                writeDistributor(i);
+            }
+            file.write("],\"producers\":[");
+            sizeProducers();
+            for (long i = 0; i < producers; ++i) {
+                separate(i);
+                writeProducer(i);
+            }
+            file.write("]},\"monthlyUpdates\":[");
+            long nextConsumerId = consumers;
+            for (long month = 0; month < turns; ++month) {
+                separate(month);
+                writeUpdate(nextConsumerId);
+                nextConsumerId += changes(consumers);
+            }
+            file.write("]}");
+        } finally {
+            file = null;
+        }
+    }
+
+    /**
+     * Generates an input file from the settings given as arguments.
+     *
+     * @param args output file followed by name=value settings
+     * @throws IOException input/output exception
+     */
+    public static void main(final String[] args) throws IOException {
+        ScenarioGenerator generator = new ScenarioGenerator();
+        for (int i = 1; i < args.length; ++i) {
+            String[] option = args[i].split("=", 2);
+            generator.setOption(option[0], option[1]);
+        }
+        generator.generate(args[0]);
+    }
+}
@@ -0,0 +1,83 @@
+package fileio;
+
+import consumer.ConsumersDB;
+
+import distributor.DistributorsDB;
+
+import game.MonthlyUpdate;
+
+import org.json.simple.parser.ParseException;
+
+import producer.ProducersDB;
+
+import java.io.IOException;
+
+/**
+ * Reader of the input of a game, loading the databases of the initial data set and afterwards
+ * the monthly updates, one at a time. The databases must be loaded before the first update is
+ * requested.
+ */
+public interface ScenarioReader extends AutoCloseable {
+    /**
+     * Opens an input file, either a binary scenario file or a json one. The json files are read
+     * through the pull parser, the json objects of the entities being never built.
+     *
+     * @param path of the input file
+     * @return the reader of the input file
+     * @throws IOException    input/output exception
+     * @throws ParseException the json input file is not valid
+     */
+    static ScenarioReader open(final String path) throws IOException, ParseException {
+        if (BinaryScenarioReader.isBinaryScenario(path)) {
+            return new BinaryScenarioReader(path);
+        }
+        return new TokenScenarioReader(path);
+    }
+
+    /**
+     * @return the number of turns of the game
+     */
+    long getNumberOfTurns();
+
+    /**
+     * @return the database of the initial consumers
+     * @throws IOException input/output exception
+     */
+    ConsumersDB loadConsumers() throws IOException;
+
+    /**
+     * @return the database of the distributors
+     * @throws IOException input/output exception
+     */
+    DistributorsDB loadDistributors() throws IOException;
+
+    /**
+     * @return the database of the producers
+     * @throws IOException input/output exception
+     */
+    ProducersDB loadProducers() throws IOException;
+
+    /**
+     * @return the update of the next month of the game, null if there are no updates left
+     * @throws IOException    input/output exception
+     * @throws ParseException the json input file is not valid
+     */
+    MonthlyUpdate nextUpdate() throws IOException, ParseException;
+
+    /**
+     * Skips the updates of the given number of months, when the game is resumed.
+     *
+     * @param count number of updates to be skipped
+     * @throws IOException    input/output exception
+     * @throws ParseException the json input file is not valid
+     */
+    void skipUpdates(long count) throws IOException, ParseException;
+
+    /**
+     * Closes the input file.
+     *
+     * @throws IOException input/output exception
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,448 @@
+package fileio;
+
+import consumer.ConsumersDB;
+
+import distributor.Distributor;
+import distributor.DistributorsDB;
+
+import entities.EnergyType;
+
+import game.MonthlyUpdate;
+
+import producer.Producer;
+import producer.ProducersDB;
+
+import strategies.EnergyChoiceStrategyType;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Reader of a json input file through a pull parser. The fields of each entity are pulled as
+ * primitives straight into the entity or into the consumers' store, without any json object or
+ * boxed number, and the monthly updates are pulled one at a time as columns. The sections of the
+ * input file may come in any order, the updates found before the initial data set being kept
+ * until they are requested.
+ */
+public final class TokenScenarioReader implements ScenarioReader {
+    private static final int COLUMN_SIZE = 16; // initial capacity of the columns of an update
+    private final JsonTokenizer tokens; // pull parser of the input file
+    private long numberOfTurns; // number of turns extracted from input file
+    private ConsumersDB consumersDatabase; // initial consumers, null until read
+    private DistributorsDB distributorsDatabase; // distributors, null until read
+    private ProducersDB producersDatabase; // producers, null until read
+    private boolean initialDataRead; // the initial data set was read
+    // monthly updates read before the initial data set, not yet requested by the game
+    private final Deque<MonthlyUpdate> monthlyUpdates;
+    private boolean inUpdates; // the parser is positioned inside the monthly updates array
+    private boolean finished; // the whole input file was parsed
+    // columns of the update being read, reused for every month
+    private final long[][] columns;
+
+    /**
+     * Class constructor with one parameter. Parses the input file until the number of turns and
+     * the initial data set are known.
+     *
+     * @param path of the given input file
+     * @throws IOException input/output exception or invalid input file
+     */
+    public TokenScenarioReader(final String path) throws IOException {
+        tokens = new JsonTokenizer(new BufferedReader(new FileReader(path)));
+        monthlyUpdates = new ArrayDeque<>();
+        columns = new long[UpdateColumn.values().length][COLUMN_SIZE];
+        numberOfTurns = -1;
+        tokens.beginObject();
+        while (!finished && !inUpdates && (numberOfTurns < 0 || !initialDataRead)) {
+            readSection();
+        }
+    }
+
+    /**
+     * Reads the next section of the root object of the input file. Reaching the monthly updates
+     * array after the initial data set, the parser stops at its beginning. Private method
+     * designed for the current class.
+     *
+     * @throws IOException input/output exception or invalid input file
+     */
+    private void readSection() throws IOException {
+        if (!tokens.hasNext()) {
+            tokens.endObject();
+            finished = true;
+            return;
+        }
+        switch (tokens.nextName()) {
+            case "numberOfTurns" -> {
+                numberOfTurns = tokens.nextLong();
+            }
+            case "initialData" -> readInitialData();
+            case "monthlyUpdates" -> {
+                tokens.beginArray();
+                inUpdates = true;
+                if (!initialDataRead) {
+                    // the updates are kept until the initial data set is read
+                    while (tokens.hasNext()) {
+                        monthlyUpdates.add(readUpdate());
+                    }
+                    tokens.endArray();
+                    inUpdates = false;
+                }
+            }
+            default -> tokens.skipValue(); // other sections of the input file are ignored
+        }
+    }
+
+    /**
+     * Reads the initial data set into the databases. Private method designed for the current
+     * class.
+     *
+     * @throws IOException input/output exception or invalid input file
+     */
+    private void readInitialData() throws IOException {
+        consumersDatabase = new ConsumersDB();
+        List<Distributor> distributors = new ArrayList<>();
+        List<Producer> producers = new ArrayList<>();
+        tokens.beginObject();
+        while (tokens.hasNext()) {
+            switch (tokens.nextName()) {
+                case "consumers" -> {
+                    tokens.beginArray();
+                    while (tokens.hasNext()) {
+                        readConsumer();
+                    }
+                    tokens.endArray();
+                }
+                case "distributors" -> {
+                    tokens.beginArray();
+                    while (tokens.hasNext()) {
+                        distributors.add(readDistributor());
+                    }
+                    tokens.endArray();
+                }
+                case "producers" -> {
+                    tokens.beginArray();
+                    while (tokens.hasNext()) {
+                        producers.add(readProducer());
+                    }
+                    tokens.endArray();
+                }
+                default -> tokens.skipValue();
+            }
+        }
+        tokens.endObject();
+        distributorsDatabase = new DistributorsDB(distributors);
+        producersDatabase = new ProducersDB(producers);
+        initialDataRead = true;
+    }
+
+    /**
+     * Reads an initial consumer straight into the consumers' store. Private method designed for
+     * the current class.
+     *
+     * @throws IOException input/output exception or invalid input file
+     */
+    private void readConsumer() throws IOException {
+        long id = 0;
+        long initialBudget = 0;
+        long monthlyIncome = 0;
+        tokens.beginObject();
+        while (tokens.hasNext()) {
+            switch (tokens.nextName()) {
+                case "id" -> {
+                    id = tokens.nextLong();
+                }
+                case "initialBudget" -> {
+                    initialBudget = tokens.nextLong();
+                }
+                case "monthlyIncome" -> {
+                    monthlyIncome = tokens.nextLong();
+                }
+                default -> tokens.skipValue();
+            }
+        }
+        tokens.endObject();
+        consumersDatabase.addConsumer(id, initialBudget, monthlyIncome);
+    }
+
+    /**
+     * Reads a distributor of the initial data set. Private method designed for the current
+     * class.
+     *
+     * @return the new distributor
+     * @throws IOException input/output exception or invalid input file
+     */
+    private Distributor readDistributor() throws IOException {
+        long id = 0;
+        long contractLength = 0;
+        long initialBudget = 0;
+        long infrastructureCost = 0;
+        long energyNeededKW = 0;
+        EnergyChoiceStrategyType producerStrategy = null;
+        tokens.beginObject();
+        while (tokens.hasNext()) {
+            switch (tokens.nextName()) {
+                case "id" -> {
+                    id = tokens.nextLong();
+                }
+                case "contractLength" -> {
+                    contractLength = tokens.nextLong();
+                }
+                case "initialBudget" -> {
+                    initialBudget = tokens.nextLong();
+                }
+                case "initialInfrastructureCost" -> {
+                    infrastructureCost = tokens.nextLong();
+                }
+                case "energyNeededKW" -> {
+                    energyNeededKW = tokens.nextLong();
+                }
+                case "producerStrategy" -> {
+                    producerStrategy = EnergyChoiceStrategyType.valueOf(tokens.nextString());
+                }
+                default -> tokens.skipValue();
+            }
+        }
+        tokens.endObject();
+        return new Distributor(id, contractLength, initialBudget, infrastructureCost,
+                energyNeededKW, producerStrategy);
+    }
+
+    /**
+     * Reads a producer of the initial data set. Private method designed for the current class.
+     *
+     * @return the new producer
+     * @throws IOException input/output exception or invalid input file
+     */
+    private Producer readProducer() throws IOException {
+        long id = 0;
+        EnergyType energyType = null;
+        long maxDistributors = 0;
+        double priceKW = 0;
+        long energyPerDistributor = 0;
+        tokens.beginObject();
+        while (tokens.hasNext()) {
+            switch (tokens.nextName()) {
+                case "id" -> {
+                    id = tokens.nextLong();
+                }
+                case "energyType" -> {
+                    energyType = EnergyType.valueOf(tokens.nextString());
+                }
+                case "maxDistributors" -> {
+                    maxDistributors = tokens.nextLong();
+                }
+                case "priceKW" -> {
+                    priceKW = tokens.nextDouble();
+                }
+                case "energyPerDistributor" -> {
+                    energyPerDistributor = tokens.nextLong();
+                }
+                default -> tokens.skipValue();
+            }
+        }
+        tokens.endObject();
+        return new Producer(id, energyType, maxDistributors, priceKW, energyPerDistributor);
+    }
+
+    /**
+     * Appends a value to a column of the update being read. Private method designed for the
+     * current class.
+     *
+     * @param column receiving the value
+     * @param size   number of values already in the column
+     * @param value  to be appended
+     */
+    private void append(final UpdateColumn column, final int size, final long value) {
+        int i = column.ordinal();
+        if (size == columns[i].length) {
+            columns[i] = Arrays.copyOf(columns[i], size * 2);
+        }
+        columns[i][size] = value;
+    }
+
+    /**
+     * Returns the first values of a column of the update being read. Private method designed
+     * for the current class.
+     *
+     * @param column holding the values
+     * @param size   number of values of the column
+     * @return a copy of the values, sized to their number
+     */
+    private long[] take(final UpdateColumn column, final int size) {
+        return Arrays.copyOf(columns[column.ordinal()], size);
+    }
+
+    /**
+     * Reads an array of objects with two integer fields into two columns of the update. Private
+     * method designed for the current class.
+     *
+     * @param firstKey     key of the first field
+     * @param firstColumn  column receiving the first field
+     * @param secondKey    key of the second field
+     * @param secondColumn column receiving the second field
+     * @return the number of objects read
+     * @throws IOException input/output exception or invalid input file
+     */
+    private int readPairs(final String firstKey, final UpdateColumn firstColumn,
+                          final String secondKey, final UpdateColumn secondColumn)
+            throws IOException {
+        int size = 0;
+        tokens.beginArray();
+        while (tokens.hasNext()) {
+            long first = 0;
+            long second = 0;
+            tokens.beginObject();
+            while (tokens.hasNext()) {
+                String key = tokens.nextName();
+                if (key.equals(firstKey)) {
+                    first = tokens.nextLong();
+                } else if (key.equals(secondKey)) {
+                    second = tokens.nextLong();
+                } else {
+                    tokens.skipValue();
+                }
+            }
+            tokens.endObject();
+            append(firstColumn, size, first);
+            append(secondColumn, size, second);
+            size++;
+        }
+        tokens.endArray();
+        return size;
+    }
+
+    /**
+     * Reads a monthly update into columns. Private method designed for the current class.
+     *
+     * @return the monthly update
+     * @throws IOException input/output exception or invalid input file
+     */
+    private MonthlyUpdate readUpdate() throws IOException {
+        int consumers = 0;
+        int distributorChanges = 0;
+        int producerChanges = 0;
+        tokens.beginObject();
+        while (tokens.hasNext()) {
+            switch (tokens.nextName()) {
+                case "newConsumers" -> {
+                    tokens.beginArray();
+                    while (tokens.hasNext()) {
+                        long id = 0;
+                        long initialBudget = 0;
+                        long monthlyIncome = 0;
+                        tokens.beginObject();
+                        while (tokens.hasNext()) {
+                            switch (tokens.nextName()) {
+                                case "id" -> {
+                                    id = tokens.nextLong();
+                                }
+                                case "initialBudget" -> {
+                                    initialBudget = tokens.nextLong();
+                                }
+                                case "monthlyIncome" -> {
+                                    monthlyIncome = tokens.nextLong();
+                                }
+                                default -> tokens.skipValue();
+                            }
+                        }
+                        tokens.endObject();
+                        append(UpdateColumn.CONSUMER_ID, consumers, id);
+                        append(UpdateColumn.CONSUMER_BUDGET, consumers, initialBudget);
+                        append(UpdateColumn.CONSUMER_INCOME, consumers, monthlyIncome);
+                        consumers++;
+                    }
+                    tokens.endArray();
+                }
+                case "distributorChanges" -> {
+                    distributorChanges = readPairs("id",
+                            UpdateColumn.DISTRIBUTOR_ID, "infrastructureCost",
+                            UpdateColumn.INFRASTRUCTURE_COST);
+                }
+                case "producerChanges" -> {
+                    producerChanges = readPairs("id",
+                            UpdateColumn.PRODUCER_ID, "energyPerDistributor",
+                            UpdateColumn.ENERGY_PER_DISTRIBUTOR);
+                }
+                default -> tokens.skipValue();
+            }
+        }
+        tokens.endObject();
+        return new ColumnarUpdate(take(UpdateColumn.CONSUMER_ID, consumers),
+                take(UpdateColumn.CONSUMER_BUDGET, consumers),
+                take(UpdateColumn.CONSUMER_INCOME, consumers),
+                take(UpdateColumn.DISTRIBUTOR_ID, distributorChanges),
+                take(UpdateColumn.INFRASTRUCTURE_COST, distributorChanges),
+                take(UpdateColumn.PRODUCER_ID, producerChanges),
+                take(UpdateColumn.ENERGY_PER_DISTRIBUTOR, producerChanges));
+    }
+
+    @Override
+    public long getNumberOfTurns() {
+        return numberOfTurns;
+    }
+
+    @Override
+    public ConsumersDB loadConsumers() {
+        return consumersDatabase;
+    }
+
+    @Override
+    public DistributorsDB loadDistributors() {
+        return distributorsDatabase;
+    }
+
+    @Override
+    public ProducersDB loadProducers() {
+        return producersDatabase;
+    }
+
+    @Override
+    public MonthlyUpdate nextUpdate() throws IOException {
+        while (true) {
+            if (!monthlyUpdates.isEmpty()) {
+                return monthlyUpdates.poll();
+            }
+            if (inUpdates) {
+                if (tokens.hasNext()) {
+                    return readUpdate();
+                }
+                tokens.endArray();
+                inUpdates = false;
+            }
+            if (finished) {
+                return null;
+            }
+            readSection();
+        }
+    }
+
+    @Override
+    public void skipUpdates(final long count) throws IOException {
+        for (long i = 0; i < count; ++i) {
+            nextUpdate();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        tokens.close();
+    }
+
+    /**
+     * Columns of a monthly update.
+     */
+    private enum UpdateColumn {
+        CONSUMER_ID,
+        CONSUMER_BUDGET,
+        CONSUMER_INCOME,
+        DISTRIBUTOR_ID,
+        INFRASTRUCTURE_COST,
+        PRODUCER_ID,
+        ENERGY_PER_DISTRIBUTOR
+    }
+}
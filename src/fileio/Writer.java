@@ -6,20 +6,45 @@ import consumer.ConsumersDB;
 import distributor.Distributor;
 import distributor.DistributorsDB;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
 
+import producer.DistributorsHistory;
 import producer.Producer;
 import producer.ProducersDB;
 
+import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
 
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 
-@SuppressWarnings({"unchecked", "deprecation"})
-public final class Writer {
-    private final FileWriter file; // the output file writer
+/**
+ * Streaming writer of the output file. Each entity is written straight to the buffered output
+ * stream, without building the json tree of the whole output in memory. The keys of each object
+ * are written in the order a json object would iterate them, so the output is identical to the
+ * one of the json objects. The output file is closed by close, so the writer is used in a
+ * try-with-resources statement and the file is released even if writing fails.
+ */
+public final class Writer implements AutoCloseable {
+    // keys of the output object
+    private static final String[] OUTPUT_KEYS =
+            jsonKeysOrder("consumers", "distributors", "energyProducers");
+    // keys of a consumer object
+    private static final String[] CONSUMER_KEYS = jsonKeysOrder("id", "isBankrupt", "budget");
+    // keys of a distributor object
+    private static final String[] DISTRIBUTOR_KEYS = jsonKeysOrder("id", "energyNeededKW",
+            "contractCost", "budget", "producerStrategy", "isBankrupt", "contracts");
+    // keys of a contract object
+    private static final String[] CONTRACT_KEYS =
+            jsonKeysOrder("consumerId", "price", "remainedContractMonths");
+    // keys of a producer object
+    private static final String[] PRODUCER_KEYS = jsonKeysOrder("id", "maxDistributors",
+            "priceKW", "energyType", "energyPerDistributor", "monthlyStats");
+    // keys of a monthly stats object
+    private static final String[] MONTH_KEYS = jsonKeysOrder("month", "distributorsIds");
+
+    private final BufferedWriter file; // the output file writer
 
     /**
      * Class constructor with two parameters.
@@ -28,7 +53,248 @@ public final class Writer {
      * @throws IOException input/output exception
      */
     public Writer(final String path) throws IOException {
-        this.file = new FileWriter(path);
+        this.file = new BufferedWriter(new FileWriter(path));
+    }
+
+    /**
+     * Returns the given keys in the order in which a json object holding them iterates its
+     * entries. Private method designed for the current class.
+     *
+     * @param keys of the object, in the order they are added
+     * @return the keys in iteration order
+     */
+    private static String[] jsonKeysOrder(final String... keys) {
+        Map<String, Object> jsonObject = new HashMap<>();
+        for (String key : keys) {
+            jsonObject.put(key, null);
+        }
+        return jsonObject.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * Writes a json object whose fields are written by the given field writer, in the order of
+     * the given keys. Private method designed for the current class.
+     *
+     * @param keys        of the object, in iteration order
+     * @param fieldWriter writes the value of each key
+     * @throws IOException input/output exception
+     */
+    private void writeObject(final String[] keys, final FieldWriter fieldWriter)
+            throws IOException {
+        file.write('{');
+        for (int i = 0; i < keys.length; ++i) {
+            if (i > 0) {
+                file.write(',');
+            }
+            file.write('"');
+            file.write(keys[i]);
+            file.write("\":");
+            fieldWriter.write(keys[i]);
+        }
+        file.write('}');
+    }
+
+    /**
+     * Writes a json array whose elements are written by the given element writer. Private
+     * method designed for the current class.
+     *
+     * @param elements      of the array
+     * @param elementWriter writes each element
+     * @param <T>           type of the elements
+     * @throws IOException input/output exception
+     */
+    private <T> void writeArray(final Iterable<T> elements, final ElementWriter<T> elementWriter)
+            throws IOException {
+        file.write('[');
+        boolean first = true;
+        for (T element : elements) {
+            if (!first) {
+                file.write(',');
+            }
+            first = false;
+            elementWriter.write(element);
+        }
+        file.write(']');
+    }
+
+    /**
+     * Writes an integer value. Private method designed for the current class.
+     *
+     * @param value to be written
+     * @throws IOException input/output exception
+     */
+    private void writeValue(final long value) throws IOException {
+        file.write(Long.toString(value));
+    }
+
+    /**
+     * Writes a number value, the infinite and undefined ones being written as null like by the
+     * json objects. Private method designed for the current class.
+     *
+     * @param value to be written
+     * @throws IOException input/output exception
+     */
+    private void writeValue(final double value) throws IOException {
+        file.write(Double.isInfinite(value) || Double.isNaN(value) ? "null"
+                : Double.toString(value));
+    }
+
+    /**
+     * Writes a boolean value. Private method designed for the current class.
+     *
+     * @param value to be written
+     * @throws IOException input/output exception
+     */
+    private void writeValue(final boolean value) throws IOException {
+        file.write(value ? "true" : "false");
+    }
+
+    /**
+     * Writes a string value, between quotes and escaped. Private method designed for the
+     * current class.
+     *
+     * @param value to be written
+     * @throws IOException input/output exception
+     */
+    private void writeValue(final String value) throws IOException {
+        file.write('"');
+        file.write(JSONValue.escape(value));
+        file.write('"');
+    }
+
+    /**
+     * Writes a consumer with all his characteristics. Private method designed for the current
+     * class.
+     *
+     * @param c consumer to be written
+     * @throws IOException input/output exception
+     */
+    private void writeConsumer(final Consumer c) throws IOException {
+        writeObject(CONSUMER_KEYS, key -> {
+            switch (key) {
+                case "id" -> writeValue(c.getId());
+                case "isBankrupt" -> writeValue(c.isBankrupt());
+                default -> writeValue(c.getBudget());
+            }
+        });
+    }
+
+    /**
+     * Writes a contract of a distributor with all its characteristics. Private method designed
+     * for the current class.
+     *
+     * @param c client that signed the contract
+     * @throws IOException input/output exception
+     */
+    private void writeContract(final Consumer c) throws IOException {
+        writeObject(CONTRACT_KEYS, key -> {
+            switch (key) {
+                case "consumerId" -> writeValue(c.getId());
+                case "price" -> writeValue(c.getContract().getMonthlyRate());
+                default -> writeValue(c.getContract().getLength());
+            }
+        });
+    }
+
+    /**
+     * Writes a distributor with all his characteristics and contracts. Private method designed
+     * for the current class.
+     *
+     * @param d distributor to be written
+     * @throws IOException input/output exception
+     */
+    private void writeDistributor(final Distributor d) throws IOException {
+        writeObject(DISTRIBUTOR_KEYS, key -> {
+            switch (key) {
+                case "id" -> writeValue(d.getId());
+                case "energyNeededKW" -> writeValue(d.getEnergyNeededKW());
+                case "contractCost" -> writeValue(d.getMonthlyRate());
+                case "budget" -> writeValue(d.getBudget());
+                case "producerStrategy" -> writeValue(d.getProducerStrategy().getLabel());
+                case "isBankrupt" -> writeValue(d.isBankrupt());
+                default -> writeArray(d.getClients(), this::writeContract);
+            }
+        });
+    }
+
+    /**
+     * Returns the ids of the distributors of a snapshot of a producer's history as a json array.
+     * The ids are stored sorted, so they are written in linear time. Private method designed for
+     * the current class.
+     *
+     * @param history  of the distributors supplied by a producer
+     * @param snapshot index of the snapshot, -1 for no distributors
+     * @return the json array of the distributors' ids
+     */
+    private static String distributorsIds(final DistributorsHistory history,
+                                          final int snapshot) {
+        StringBuilder distributorsIds = new StringBuilder("[");
+        int size = snapshot < 0 ? 0 : history.getSnapshotSize(snapshot);
+        for (int i = 0; i < size; ++i) {
+            if (i > 0) {
+                distributorsIds.append(',');
+            }
+            distributorsIds.append(history.getId(snapshot, i));
+        }
+        return distributorsIds.append(']').toString();
+    }
+
+    /**
+     * Writes the distributors supplied by a producer in a month of the game. Private method
+     * designed for the current class.
+     *
+     * @param monthNr         number of the turn
+     * @param distributorsIds json array of the distributors' ids, sorted
+     * @throws IOException input/output exception
+     */
+    private void writeMonth(final int monthNr, final String distributorsIds) throws IOException {
+        writeObject(MONTH_KEYS, key -> {
+            if (key.equals("month")) {
+                writeValue((long) monthNr + 1);
+            } else {
+                file.write(distributorsIds);
+            }
+        });
+    }
+
+    /**
+     * Writes a producer with all his characteristics and monthly stats. Private method designed
+     * for the current class.
+     *
+     * @param p             producer to be written
+     * @param numberOfTurns total number of turns of the game
+     * @throws IOException input/output exception
+     */
+    private void writeProducer(final Producer p, final long numberOfTurns) throws IOException {
+        writeObject(PRODUCER_KEYS, key -> {
+            switch (key) {
+                case "id" -> writeValue(p.getId());
+                case "maxDistributors" -> writeValue(p.getMaxDistributors());
+                case "priceKW" -> writeValue(p.getPriceKW());
+                case "energyType" -> writeValue(p.getEnergyType().getLabel());
+                case "energyPerDistributor" -> writeValue(p.getEnergyPerDistributor());
+                default -> {
+                    // array of producers' monthly distributors, the ids of a snapshot being
+                    // written again for all the months it covers
+                    DistributorsHistory history = p.getAllDistributors();
+                    int lastSnapshot = -1;
+                    String distributorsIds = distributorsIds(history, lastSnapshot);
+                    file.write('[');
+                    for (int monthNr = 0; monthNr < numberOfTurns; ++monthNr) {
+                        if (monthNr > 0) {
+                            file.write(',');
+                        }
+                        int snapshot = history.getSnapshot(monthNr);
+                        if (snapshot != lastSnapshot) {
+                            lastSnapshot = snapshot;
+                            distributorsIds = distributorsIds(history, snapshot);
+                        }
+                        writeMonth(monthNr, distributorsIds);
+                    }
+                    file.write(']');
+                }
+            }
+        });
     }
 
     /**
@@ -44,78 +310,44 @@ public final class Writer {
                           final DistributorsDB distributorsDatabase,
                           final ProducersDB producersDatabase,
                           final long numberOfTurns) throws IOException {
-        JSONObject output = new JSONObject(); // the output object that will be written
-        JSONArray consumersOutput = new JSONArray(); // array of resulted consumers
-        JSONArray distributorsOutput = new JSONArray(); // array of resulted distributors
-        JSONArray producersOutput = new JSONArray(); // array of resulted producers
-
-        for (Consumer c : consumersDatabase.getConsumers()) {
-            // consumer to be displayed with all his characteristics
-            JSONObject consumerOutput = new JSONObject();
-            consumerOutput.put("id", c.getId());
-            consumerOutput.put("isBankrupt", c.isBankrupt());
-            consumerOutput.put("budget", c.getBudget());
-            consumersOutput.add(consumerOutput);
-        }
-
-        for (Distributor d : distributorsDatabase.getDistributors()) {
-            // distributor to be displayed with all his characteristics
-            JSONObject distributorOutput = new JSONObject();
-            distributorOutput.put("id", d.getId());
-            distributorOutput.put("energyNeededKW", d.getEnergyNeededKW());
-            distributorOutput.put("contractCost", d.getMonthlyRate());
-            distributorOutput.put("budget", d.getBudget());
-            distributorOutput.put("producerStrategy", d.getProducerStrategy().getLabel());
-            distributorOutput.put("isBankrupt", d.isBankrupt());
-
-            JSONArray contracts = new JSONArray(); // array of distributor contracts
-            for (Consumer c : d.getClients()) {
-                // clients to be displayed with all their characteristics
-                JSONObject client = new JSONObject();
-                client.put("consumerId", c.getId());
-                client.put("price", c.getContract().getMonthlyRate());
-                client.put("remainedContractMonths", c.getContract().getLength());
-                contracts.add(client);
+        writeObject(OUTPUT_KEYS, key -> {
+            switch (key) {
+                case "consumers" -> writeArray(consumersDatabase.getConsumers(),
+                        this::writeConsumer);
+                case "distributors" -> writeArray(distributorsDatabase.getDistributors(),
+                        this::writeDistributor);
+                default -> writeArray(producersDatabase.getProducers(),
+                        p -> writeProducer(p, numberOfTurns));
             }
-            distributorOutput.put("contracts", contracts);
-            distributorsOutput.add(distributorOutput);
-        }
-
-        for (Producer p : producersDatabase.getProducers()) {
-            // producer to be displayed with all his characteristics
-            JSONObject producerOutput = new JSONObject();
-            producerOutput.put("id", p.getId());
-            producerOutput.put("maxDistributors", p.getMaxDistributors());
-            producerOutput.put("priceKW", p.getPriceKW());
-            producerOutput.put("energyType", p.getEnergyType().getLabel());
-            producerOutput.put("energyPerDistributor", p.getEnergyPerDistributor());
-
-            JSONArray monthlyStats = new JSONArray(); // array of producers' monthly distributors
-            for (long i = 1; i <= numberOfTurns; ++i) {
-                // month to be displayed with the respective supplied distributors
-                JSONObject month = new JSONObject();
-                month.put("month", i);
-
-                JSONArray distributorsIds = new JSONArray(); // array of distributors' ids
-                int monthNr = (int) (i - 1); // number of the turn
-
-                for (Distributor d : p.getAllDistributors().get(monthNr)) {
-                    distributorsIds.add(d.getId());
-                    // sorts the ids before display
-                    distributorsIds.sort(Comparator.comparingLong(x -> (long) x));
-                }
-                month.put("distributorsIds", distributorsIds);
-                monthlyStats.add(month);
-            }
-            producerOutput.put("monthlyStats", monthlyStats);
-            producersOutput.add(producerOutput);
-        }
-        output.put("consumers", consumersOutput);
-        output.put("distributors", distributorsOutput);
-        output.put("energyProducers", producersOutput);
-
-        file.write(output.toJSONString());
+        });
         file.flush();
+    }
+
+    /**
+     * Closes the output file.
+     *
+     * @throws IOException input/output exception
+     */
+    @Override
+    public void close() throws IOException {
         file.close();
     }
+
+    /**
+     * Writes the value of a field of a json object.
+     */
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(String key) throws IOException;
+    }
+
+    /**
+     * Writes an element of a json array.
+     *
+     * @param <T> type of the element
+     */
+    @FunctionalInterface
+    private interface ElementWriter<T> {
+        void write(T element) throws IOException;
+    }
 }
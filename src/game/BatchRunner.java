@@ -0,0 +1,231 @@
+package game;
+
+import strategies.EnergyChoiceStrategyFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Plays many scenarios in the same virtual machine, several at once on a pool with a bounded
+ * number of threads. Each scenario is played by its own game runner, with its own databases, so
+ * the games share nothing but the stateless factory of strategies and, if requested, the pool
+ * of the parallel settlement.
+ */
+public final class BatchRunner {
+    private static final double NANOS_PER_MILLI = 1e6; // nanoseconds in a millisecond
+    private static final double NANOS_PER_SECOND = 1e9; // nanoseconds in a second
+    private final int threads; // number of games played at once
+    private final EnergyChoiceStrategyFactory choiceStrategyFactory; // factory of strategies
+    private boolean parallelBilling; // whether the monthly payments are computed in parallel
+    private ForkJoinPool settlementPool; // pool of the parallel settlement, null if sequential
+    private long wallNanos; // duration of the last batch, in nanoseconds
+
+    /**
+     * Class constructor with two parameters.
+     *
+     * @param threads               number of games played at once
+     * @param choiceStrategyFactory factory of strategies shared by the games
+     */
+    public BatchRunner(final int threads,
+                       final EnergyChoiceStrategyFactory choiceStrategyFactory) {
+        this.threads = threads;
+        this.choiceStrategyFactory = choiceStrategyFactory;
+    }
+
+    /**
+     * Returns the scenarios found in a directory, each input file giving an output file with the
+     * same name in the output directory, which is created if needed.
+     *
+     * @param inputDirectory  directory of the input files
+     * @param outputDirectory directory of the output files
+     * @return the scenarios, sorted by the names of their input files
+     * @throws IOException input/output exception
+     */
+    public static List<ScenarioRun> fromDirectory(final Path inputDirectory,
+                                                  final Path outputDirectory)
+            throws IOException {
+        Files.createDirectories(outputDirectory);
+        List<ScenarioRun> scenarios = new ArrayList<>();
+        try (Stream<Path> files = Files.list(inputDirectory)) {
+            for (Path input : files.filter(Files::isRegularFile).sorted().toList()) {
+                scenarios.add(new ScenarioRun(input.toString(),
+                        outputDirectory.resolve(input.getFileName()).toString()));
+            }
+        }
+        return scenarios;
+    }
+
+    /**
+     * Returns the scenarios listed by a manifest file, one pair of input and output files on
+     * each line, separated by white space. Empty lines and lines starting with # are ignored and
+     * relative paths are resolved against the directory of the manifest.
+     *
+     * @param manifest file listing the scenarios
+     * @return the scenarios, in the order of the manifest
+     * @throws IOException input/output exception or malformed line
+     */
+    public static List<ScenarioRun> fromManifest(final Path manifest) throws IOException {
+        Path directory = manifest.toAbsolutePath().getParent();
+        List<ScenarioRun> scenarios = new ArrayList<>();
+        List<String> lines = Files.readAllLines(manifest);
+        for (int i = 0; i < lines.size(); ++i) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] paths = line.split("\\s+");
+            if (paths.length != 2) {
+                throw new IOException("Malformed line " + (i + 1) + " of " + manifest);
+            }
+            scenarios.add(new ScenarioRun(directory.resolve(paths[0]).toString(),
+                    directory.resolve(paths[1]).toString()));
+        }
+        return scenarios;
+    }
+
+    /**
+     * Plays a scenario and records its duration or its error. Private method designed for the
+     * current class.
+     *
+     * @param scenario to be played
+     * @return the played scenario
+     */
+    private ScenarioRun play(final ScenarioRun scenario) {
+        GameRunner gameRunner = new GameRunner(choiceStrategyFactory);
+        gameRunner.setParallelBilling(parallelBilling);
+        gameRunner.setSettlementPool(settlementPool);
+        long start = System.nanoTime();
+        Exception failure = null;
+        try {
+            gameRunner.run(scenario.getInputPath(), scenario.getOutputPath());
+        } catch (Exception e) {
+            failure = e;
+        }
+        scenario.finish(System.nanoTime() - start, failure);
+        return scenario;
+    }
+
+    /**
+     * Plays all the given scenarios on a pool of the configured number of threads and waits for
+     * all of them to end. A scenario that fails does not stop the others.
+     *
+     * @param scenarios to be played
+     * @throws InterruptedException the waiting thread was interrupted
+     */
+    public void run(final List<ScenarioRun> scenarios) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<ScenarioRun>> results = new ArrayList<>(scenarios.size());
+            for (ScenarioRun scenario : scenarios) {
+                results.add(pool.submit(() -> play(scenario)));
+            }
+            for (int i = 0; i < results.size(); ++i) {
+                try {
+                    results.get(i).get();
+                } catch (ExecutionException e) {
+                    // errors other than exceptions, such as a stack overflow, end up here
+                    scenarios.get(i).finish(0, e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        wallNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Returns the report of a batch: the duration of each scenario and the throughput of the
+     * whole batch.
+     *
+     * @param scenarios played by the last batch
+     * @return the lines of the report
+     */
+    public List<String> report(final List<ScenarioRun> scenarios) {
+        List<String> lines = new ArrayList<>();
+        long totalNanos = 0;
+        long maxNanos = 0;
+        int failed = 0;
+        for (ScenarioRun scenario : scenarios) {
+            String result = scenario.isFailed() ? "FAILED " + scenario.getError()
+                    : String.format("%.3f ms", scenario.getElapsedNanos() / NANOS_PER_MILLI);
+            lines.add(scenario.getInputPath() + " -> " + scenario.getOutputPath() + ": " + result);
+            totalNanos += scenario.getElapsedNanos();
+            maxNanos = Math.max(maxNanos, scenario.getElapsedNanos());
+            failed += scenario.isFailed() ? 1 : 0;
+        }
+        int count = scenarios.size();
+        lines.add(String.format("scenarios: %d, failed: %d, threads: %d", count, failed,
+                threads));
+        lines.add(String.format("wall time: %.3f ms, scenario time: %.3f ms (mean %.3f ms, "
+                        + "max %.3f ms)", wallNanos / NANOS_PER_MILLI,
+                totalNanos / NANOS_PER_MILLI,
+                count == 0 ? 0 : totalNanos / NANOS_PER_MILLI / count,
+                maxNanos / NANOS_PER_MILLI));
+        lines.add(String.format("throughput: %.2f scenarios/s",
+                wallNanos == 0 ? 0 : count * NANOS_PER_SECOND / wallNanos));
+        return lines;
+    }
+
+    /**
+     * Sets whether the monthly payments of the consumers are computed in parallel.
+     *
+     * @param parallel true for parallel payments, false for sequential ones
+     */
+    public void setParallelBilling(final boolean parallel) {
+        parallelBilling = parallel;
+    }
+
+    /**
+     * Sets the pool on which the distributors of all the games are settled.
+     *
+     * @param pool of the parallel settlement, null for a sequential settlement
+     */
+    public void setSettlementPool(final ForkJoinPool pool) {
+        settlementPool = pool;
+    }
+
+    /**
+     * Plays the scenarios of a directory, given with the directory of the output files, or of a
+     * manifest file, and prints the report. The number of games played at once is given through
+     * -DbatchThreads, by default the number of available processors.
+     *
+     * @param args input directory and output directory, or manifest file
+     * @throws Exception might error when reading the directory or the manifest
+     */
+    public static void main(final String[] args) throws Exception {
+        Path source = Paths.get(args[0]);
+        List<ScenarioRun> scenarios = Files.isDirectory(source)
+                ? fromDirectory(source, Paths.get(args[1])) : fromManifest(source);
+        int threads = Integer.getInteger(Utils.BATCH_THREADS,
+                Runtime.getRuntime().availableProcessors());
+        // the factory is obtained before the games start and then shared by all of them
+        BatchRunner batchRunner = new BatchRunner(threads,
+                EnergyChoiceStrategyFactory.getInstance());
+        batchRunner.setParallelBilling(Boolean.getBoolean(Utils.PARALLEL_BILLING));
+        int settlementThreads = Integer.getInteger(Utils.SETTLEMENT_THREADS, 1);
+        ForkJoinPool settlementPool = settlementThreads > 1
+                ? new ForkJoinPool(settlementThreads) : null;
+        batchRunner.setSettlementPool(settlementPool);
+
+        batchRunner.run(scenarios);
+        batchRunner.report(scenarios).forEach(System.out::println);
+
+        if (settlementPool != null) {
+            settlementPool.shutdown();
+        }
+        if (scenarios.stream().anyMatch(ScenarioRun::isFailed)) {
+            System.exit(1);
+        }
+    }
+}
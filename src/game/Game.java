@@ -4,6 +4,9 @@ import consumer.ConsumersDB;
 
 import distributor.DistributorsDB;
 
+import metrics.Counter;
+import metrics.PhaseTimer;
+
 import producer.ProducersDB;
 
 import strategies.EnergyChoiceStrategyFactory;
@@ -16,6 +19,7 @@ public abstract class Game {
     protected ProducersDB producersDatabase; // database of all producers
     protected DistributorsDB distributorsDatabase; // database of all distributors
     protected EnergyChoiceStrategyFactory choiceStrategyFactory; // factory of strategies
+    protected PhaseTimer timer; // measures the phases of the game
 
     /**
      * Class constructor with four parameters.
@@ -32,6 +36,37 @@ public abstract class Game {
         this.producersDatabase = producersDatabase;
         this.distributorsDatabase = distributorsDatabase;
         this.choiceStrategyFactory = choiceStrategyFactory;
+        this.timer = PhaseTimer.NONE;
+    }
+
+    /**
+     * Sets the timer reporting the durations of the phases and the counters of the game.
+     *
+     * @param phaseTimer measures the phases of the game
+     */
+    public void setPhaseTimer(final PhaseTimer phaseTimer) {
+        this.timer = phaseTimer;
+    }
+
+    /**
+     * Reports the wall time and the allocations of a month and the counters of the events that
+     * occurred during it.
+     *
+     * @param month number of the month, 0 for the initial month
+     */
+    protected void reportMonth(final int month) {
+        if (timer == PhaseTimer.NONE) {
+            return;
+        }
+        timer.stopMonth(month);
+        timer.count(month, Counter.CONTRACTS_RENEWED, consumersDatabase.getRenewedContracts());
+        timer.count(month, Counter.CONSUMER_BANKRUPTCIES, consumersDatabase.getNewBankruptcies());
+        timer.count(month, Counter.DISTRIBUTOR_BANKRUPTCIES,
+                distributorsDatabase.getNewBankruptcies());
+        timer.count(month, Counter.REBALANCED_DISTRIBUTORS,
+                distributorsDatabase.getRebalancedDistributors());
+        timer.count(month, Counter.PRODUCERS_SCANNED,
+                producersDatabase.getRanking().takeScannedProducers());
     }
 
     /**
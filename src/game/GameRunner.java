@@ -0,0 +1,182 @@
+package game;
+
+import consumer.ConsumersDB;
+
+import distributor.DistributorsDB;
+
+import fileio.Checkpoint;
+import fileio.ScenarioReader;
+import fileio.Writer;
+
+import metrics.MetricsListener;
+import metrics.Phase;
+import metrics.PhaseTimer;
+
+import producer.ProducersDB;
+
+import strategies.EnergyChoiceStrategyFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Plays a whole game, from an input file to an output file. All the state of the game is held
+ * by the databases created for each run, the factory of strategies being given by the caller, so
+ * several games can be played at once, each one by its own runner.
+ */
+public final class GameRunner {
+    private final EnergyChoiceStrategyFactory choiceStrategyFactory; // factory of strategies
+    private boolean parallelBilling; // whether the monthly payments are computed in parallel
+    private ForkJoinPool settlementPool; // pool of the parallel settlement, null if sequential
+    private PhaseTimer timer; // measures the phases of the game
+    private String checkpointPath; // checkpoint file written while playing, null for none
+    private int checkpointInterval; // number of turns between two checkpoints
+    private String resumePath; // checkpoint file the game is resumed from, null for none
+
+    /**
+     * Class constructor with one parameter.
+     *
+     * @param choiceStrategyFactory factory of strategies used by the games
+     */
+    public GameRunner(final EnergyChoiceStrategyFactory choiceStrategyFactory) {
+        this.choiceStrategyFactory = choiceStrategyFactory;
+        this.timer = PhaseTimer.NONE;
+        this.checkpointInterval = 1;
+    }
+
+    /**
+     * Plays the game found in an input file and writes its results to an output file.
+     *
+     * @param inputPath  of the input file, json or binary scenario
+     * @param outputPath of the output file
+     * @throws Exception might error when reading/writing/opening files, parsing JSON
+     */
+    public void run(final String inputPath, final String outputPath) throws Exception {
+        timer.start();
+        // reader of the input file, either a json file, whose monthly updates are streamed one
+        // at a time, or a memory-mapped binary scenario file
+        try (ScenarioReader scenarioReader = ScenarioReader.open(inputPath)) {
+            // number of turns extracted from input file
+            long numberOfTurns = scenarioReader.getNumberOfTurns();
+
+            ConsumersDB consumersDatabase;
+            DistributorsDB distributorsDatabase;
+            ProducersDB producersDatabase;
+            // number of turns already played when the game starts
+            long playedTurns = 0;
+            // the game is resumed from a checkpoint file, instead of loading the initial data set
+            // and playing the initial month again
+            if (resumePath != null) {
+                Checkpoint checkpoint = Checkpoint.load(resumePath);
+                // a checkpoint of another game would skip the wrong updates
+                if (checkpoint.getNumberOfTurns() != numberOfTurns) {
+                    throw new IOException("The checkpoint " + resumePath + " was written for a "
+                            + "game of " + checkpoint.getNumberOfTurns() + " turns, not "
+                            + numberOfTurns);
+                }
+                consumersDatabase = checkpoint.getConsumersDatabase();
+                distributorsDatabase = checkpoint.getDistributorsDatabase();
+                producersDatabase = checkpoint.getProducersDatabase();
+                playedTurns = checkpoint.getPlayedTurns();
+                // the updates of the turns already played are skipped
+                scenarioReader.skipUpdates(playedTurns);
+            } else {
+                // producers database created with the producers given through input file
+                producersDatabase = scenarioReader.loadProducers();
+                // consumers database created with the consumers given through input file
+                consumersDatabase = scenarioReader.loadConsumers();
+                // distributors database created with the distributors given through input file
+                distributorsDatabase = scenarioReader.loadDistributors();
+            }
+            consumersDatabase.setParallelBilling(parallelBilling);
+            distributorsDatabase.setSettlementPool(settlementPool);
+            timer.stop(MetricsListener.NO_MONTH, Phase.INPUT_PARSING);
+
+            if (resumePath == null) {
+                // initial month object of the game
+                Game initialMonthGame = new InitialMonth(consumersDatabase, producersDatabase,
+                        distributorsDatabase, choiceStrategyFactory);
+                initialMonthGame.setPhaseTimer(timer);
+                initialMonthGame.playGame(); // updates the entities based on first month rules
+            }
+
+            // for each turn of the game, a new update is extracted from the input file and
+            // accordingly are added new consumers and changed the game's data
+            for (int i = (int) playedTurns; i < numberOfTurns; ++i) {
+                timer.start();
+                MonthlyUpdate update = scenarioReader.nextUpdate();
+                timer.stop(i + 1, Phase.INPUT_PARSING);
+                // current month object of the game
+                Game turnMonth = new TurnMonth(consumersDatabase, producersDatabase,
+                        distributorsDatabase, update, choiceStrategyFactory, i);
+                turnMonth.setPhaseTimer(timer);
+                turnMonth.playGame(); // updates the entities based on the rules of a new turn
+                if (checkpointPath != null && (i + 1) % checkpointInterval == 0) {
+                    Checkpoint.save(checkpointPath, i + 1, numberOfTurns, consumersDatabase,
+                            distributorsDatabase, producersDatabase);
+                }
+            }
+
+            // the writer object used for displaying the results in the output file
+            timer.start();
+            try (Writer outfile = new Writer(outputPath)) {
+                outfile.writeData(consumersDatabase, distributorsDatabase, producersDatabase,
+                        numberOfTurns);
+            }
+            timer.stop(MetricsListener.NO_MONTH, Phase.WRITE_OUTPUT);
+        }
+    }
+
+    /**
+     * Sets whether the monthly payments of the consumers are computed in parallel.
+     *
+     * @param parallel true for parallel payments, false for sequential ones
+     */
+    public void setParallelBilling(final boolean parallel) {
+        parallelBilling = parallel;
+    }
+
+    /**
+     * Sets the pool on which the distributors are settled, which may be shared by several
+     * games.
+     *
+     * @param pool of the parallel settlement, null for a sequential settlement
+     */
+    public void setSettlementPool(final ForkJoinPool pool) {
+        settlementPool = pool;
+    }
+
+    /**
+     * Sets the timer measuring the phases of the games.
+     *
+     * @param phaseTimer timer of the phases
+     */
+    public void setPhaseTimer(final PhaseTimer phaseTimer) {
+        timer = phaseTimer;
+    }
+
+    /**
+     * Sets the checkpoint file written while playing.
+     *
+     * @param path     of the checkpoint file, null for no checkpoints
+     * @param interval number of turns between two checkpoints
+     * @throws IllegalArgumentException the interval is not positive
+     */
+    public void setCheckpoint(final String path, final int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("The checkpoint interval must be positive, not "
+                    + interval);
+        }
+        checkpointPath = path;
+        checkpointInterval = interval;
+    }
+
+    /**
+     * Sets the checkpoint file the game is resumed from.
+     *
+     * @param path of the checkpoint file, null for playing the game from the beginning
+     */
+    public void setResumePath(final String path) {
+        resumePath = path;
+    }
+}
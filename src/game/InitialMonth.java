@@ -2,6 +2,7 @@ package game;
 
 import consumer.ConsumersDB;
 import distributor.DistributorsDB;
+import metrics.Phase;
 import producer.ProducersDB;
 import strategies.EnergyChoiceStrategyFactory;
 
@@ -28,16 +29,30 @@ public final class InitialMonth extends Game {
      */
     @Override
     public void playGame() {
+        final int month = 0; // the initial month of the game
+        timer.startMonth();
+        timer.start();
         // sets initial energy sources and monthly rates for all distributors
         distributorsDatabase.initiateEnergySources(choiceStrategyFactory, producersDatabase);
+        timer.stop(month, Phase.INITIATE_ENERGY_SOURCES);
+        timer.start();
         distributorsDatabase.setInitialMonthlyRate();
+        timer.stop(month, Phase.SET_INITIAL_MONTHLY_RATE);
 
         // sets initial data fields for both consumers and distributors
+        timer.start();
         consumersDatabase.setInitialMonth(distributorsDatabase);
         distributorsDatabase.setInitialMonth(consumersDatabase);
+        timer.stop(month, Phase.SET_INITIAL_MONTH);
 
         // sets updates of the first month of the game (month 0)
+        timer.start();
         consumersDatabase.updateConsumers(distributorsDatabase);
+        timer.stop(month, Phase.UPDATE_CONSUMERS);
+        timer.start();
         distributorsDatabase.updateDistributors();
+        timer.stop(month, Phase.UPDATE_DISTRIBUTORS);
+
+        reportMonth(month);
     }
 }
@@ -0,0 +1,24 @@
+package game;
+
+import consumer.ConsumersDB;
+
+import distributor.DistributorsDB;
+
+import producer.ProducersDB;
+
+/**
+ * Changes brought by the update of a month of the game, whatever the format of the input file
+ * they were read from.
+ */
+public interface MonthlyUpdate {
+    /**
+     * Adds the new consumers of the month and applies the distributor and producer changes,
+     * queueing the distributors affected by the producer changes for updating their suppliers.
+     *
+     * @param consumersDatabase    database of all consumers
+     * @param distributorsDatabase database of all distributors
+     * @param producersDatabase    database of all producers
+     */
+    void apply(ConsumersDB consumersDatabase, DistributorsDB distributorsDatabase,
+               ProducersDB producersDatabase);
+}
@@ -0,0 +1,55 @@
+package game;
+
+/**
+ * Scenario played by the batch runner: its input and output files and, once played, its
+ * duration or the error that stopped it.
+ */
+public final class ScenarioRun {
+    private final String inputPath; // input file of the game
+    private final String outputPath; // output file of the game
+    private long elapsedNanos; // duration of the game, in nanoseconds
+    private String error; // message of the error that stopped the game, null if none
+
+    /**
+     * Class constructor with two parameters.
+     *
+     * @param inputPath  input file of the game
+     * @param outputPath output file of the game
+     */
+    public ScenarioRun(final String inputPath, final String outputPath) {
+        this.inputPath = inputPath;
+        this.outputPath = outputPath;
+    }
+
+    /**
+     * Records the end of the game.
+     *
+     * @param nanos   duration of the game, in nanoseconds
+     * @param failure error that stopped the game, null if it ended normally
+     */
+    void finish(final long nanos, final Throwable failure) {
+        elapsedNanos = nanos;
+        error = failure == null ? null
+                : failure.getClass().getSimpleName() + ": " + failure.getMessage();
+    }
+
+    public String getInputPath() {
+        return inputPath;
+    }
+
+    public String getOutputPath() {
+        return outputPath;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+}
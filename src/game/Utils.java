@@ -4,6 +4,20 @@ public final class Utils {
     public static final double DEBT = 1.2; // percent of remaining debt of a consumer
     public static final double PROFIT = 0.2; // the percent of the profit of a distributor
     public static final int COST = 10; // constant used in calculating the production cost
+    // system property that turns on the parallel monthly payments of the consumers
+    public static final String PARALLEL_BILLING = "parallelBilling";
+    // system property holding the number of threads of the distributors' settlement
+    public static final String SETTLEMENT_THREADS = "settlementThreads";
+    // system property holding the path of the metrics file, .csv or .json
+    public static final String METRICS = "metrics";
+    // system property holding the path of the checkpoint file written while playing
+    public static final String CHECKPOINT = "checkpoint";
+    // system property holding the number of turns between two checkpoints
+    public static final String CHECKPOINT_INTERVAL = "checkpointInterval";
+    // system property holding the path of the checkpoint file the game is resumed from
+    public static final String RESUME = "resume";
+    // system property holding the number of games played at once by the batch runner
+    public static final String BATCH_THREADS = "batchThreads";
 
     private Utils() {
     }
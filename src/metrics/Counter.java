@@ -0,0 +1,22 @@
+package metrics;
+
+/**
+ * Counters of the events of a month, as reported to the metrics listeners.
+ */
+public enum Counter {
+    CONTRACTS_RENEWED("contractsRenewed"),
+    CONSUMER_BANKRUPTCIES("consumerBankruptcies"),
+    DISTRIBUTOR_BANKRUPTCIES("distributorBankruptcies"),
+    REBALANCED_DISTRIBUTORS("rebalancedDistributors"),
+    PRODUCERS_SCANNED("producersScanned");
+
+    private final String label;
+
+    Counter(final String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,71 @@
+package metrics;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Default metrics listener, writing each measurement as soon as it is received to a CSV file or,
+ * if the name of the file ends in .json, to a json array. Each record holds the month, the kind
+ * of the measurement (time in nanoseconds, allocation in bytes or counter) and its name.
+ */
+public final class FileMetricsListener implements MetricsListener {
+    private final BufferedWriter file; // the metrics file writer
+    private final boolean json; // whether the records are written as json objects
+    private boolean first = true; // no record was written yet
+
+    /**
+     * Class constructor with one parameter.
+     *
+     * @param path of the metrics file
+     * @throws IOException input/output exception
+     */
+    public FileMetricsListener(final String path) throws IOException {
+        file = new BufferedWriter(new FileWriter(path));
+        json = path.endsWith(".json");
+        file.write(json ? "[" : "month,kind,name,value");
+    }
+
+    /**
+     * Writes a record of the metrics file. Private method designed for the current class.
+     *
+     * @param month of the measurement
+     * @param kind  of the measurement
+     * @param name  of the measurement
+     * @param value of the measurement
+     */
+    private void write(final int month, final String kind, final String name, final long value) {
+        try {
+            if (json) {
+                file.write((first ? "" : ",") + "{\"month\":" + month + ",\"kind\":\"" + kind
+                        + "\",\"name\":\"" + name + "\",\"value\":" + value + "}");
+            } else {
+                file.write("\n" + month + "," + kind + "," + name + "," + value);
+            }
+            first = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void phaseFinished(final int month, final Phase phase, final long nanos,
+                              final long allocatedBytes) {
+        write(month, "time", phase.getLabel(), nanos);
+        if (allocatedBytes >= 0) {
+            write(month, "allocation", phase.getLabel(), allocatedBytes);
+        }
+    }
+
+    @Override
+    public void counted(final int month, final Counter counter, final long value) {
+        write(month, "counter", counter.getLabel(), value);
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.write(json ? "]" : "\n");
+        file.close();
+    }
+}
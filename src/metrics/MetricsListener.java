@@ -0,0 +1,52 @@
+package metrics;
+
+import java.io.IOException;
+
+/**
+ * Receives the timings and the counters of the simulation. Month 0 is the initial month, the
+ * turns of the game being numbered from 1, while the phases outside the months, such as the
+ * loading of the initial data and the writing of the results, are reported with month -1.
+ */
+public interface MetricsListener {
+    int NO_MONTH = -1; // month of the phases that do not belong to a month
+
+    // listener that ignores all the metrics, the game not measuring anything for it
+    MetricsListener NONE = new MetricsListener() {
+        @Override
+        public void phaseFinished(final int month, final Phase phase, final long nanos,
+                                  final long allocatedBytes) {
+        }
+
+        @Override
+        public void counted(final int month, final Counter counter, final long value) {
+        }
+    };
+
+    /**
+     * Reports the duration and the allocations of a phase of the simulation.
+     *
+     * @param month          of the phase
+     * @param phase          that finished
+     * @param nanos          wall time of the phase, in nanoseconds
+     * @param allocatedBytes bytes allocated by all the threads during the phase, -1 if
+     *                       unknown
+     */
+    void phaseFinished(int month, Phase phase, long nanos, long allocatedBytes);
+
+    /**
+     * Reports the value of a counter at the end of a month.
+     *
+     * @param month   of the counter
+     * @param counter that was measured
+     * @param value   of the counter over the month
+     */
+    void counted(int month, Counter counter, long value);
+
+    /**
+     * Releases the resources of the listener at the end of the simulation.
+     *
+     * @throws IOException input/output exception
+     */
+    default void close() throws IOException {
+    }
+}
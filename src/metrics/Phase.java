@@ -0,0 +1,29 @@
+package metrics;
+
+/**
+ * Timed phases of the simulation, as reported to the metrics listeners.
+ */
+public enum Phase {
+    INPUT_PARSING("inputParsing"),
+    INITIATE_ENERGY_SOURCES("initiateEnergySources"),
+    SET_INITIAL_MONTHLY_RATE("setInitialMonthlyRate"),
+    SET_INITIAL_MONTH("setInitialMonth"),
+    CALCULATE_MONTHLY_RATE("calculateMonthlyRate"),
+    REMOVE_INVALID_CONTRACTS("removeInvalidContracts"),
+    UPDATE_CONSUMERS("updateConsumers"),
+    UPDATE_DISTRIBUTORS("updateDistributors"),
+    UPDATE_ENERGY_SOURCES("updateEnergySources"),
+    UPDATE_MONTHLY_DISTRIBUTORS_LISTS("updateMonthlyDistributorsLists"),
+    MONTH("month"),
+    WRITE_OUTPUT("writeOutput");
+
+    private final String label;
+
+    Phase(final String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
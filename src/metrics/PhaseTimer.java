@@ -0,0 +1,107 @@
+package metrics;
+
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the phases of the simulation one after another and reports them to a listener. When
+ * the listener ignores the metrics, nothing is measured. The allocations are summed over all the
+ * threads, so the phases running in parallel are measured as a whole.
+ */
+public final class PhaseTimer {
+    // timer that measures nothing, used by the games played without a metrics listener
+    public static final PhaseTimer NONE = new PhaseTimer(MetricsListener.NONE);
+    private final MetricsListener listener; // receiver of the measurements
+    private final ThreadAllocations phaseBytes; // allocations of the phase, null if unknown
+    private final ThreadAllocations monthBytes; // allocations of the month, null if unknown
+    private long startNanos; // start time of the current phase
+    private long monthStartNanos; // start time of the current month
+
+    /**
+     * Class constructor with one parameter.
+     *
+     * @param listener receiver of the measurements
+     */
+    public PhaseTimer(final MetricsListener listener) {
+        this.listener = listener;
+        // the bytes allocated by a thread are only exposed by the com.sun.management extension
+        // of the HotSpot virtual machines, so on the other ones the allocations are unknown and
+        // the ThreadAllocations relying on it are never created
+        Object bean = ManagementFactory.getThreadMXBean();
+        ThreadMXBean threads = bean instanceof ThreadMXBean ? (ThreadMXBean) bean : null;
+        if (threads != null && threads.isThreadAllocatedMemorySupported()) {
+            phaseBytes = new ThreadAllocations(threads);
+            monthBytes = new ThreadAllocations(threads);
+        } else {
+            phaseBytes = null;
+            monthBytes = null;
+        }
+    }
+
+    /**
+     * Starts measuring a new phase.
+     */
+    public void start() {
+        if (listener != MetricsListener.NONE) {
+            if (phaseBytes != null) {
+                phaseBytes.mark();
+            }
+            startNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Stops measuring the current phase and reports it.
+     *
+     * @param month of the phase
+     * @param phase that finished
+     */
+    public void stop(final int month, final Phase phase) {
+        if (listener != MetricsListener.NONE) {
+            long nanos = System.nanoTime() - startNanos;
+            long bytes = phaseBytes == null ? -1 : phaseBytes.sinceMark();
+            listener.phaseFinished(month, phase, nanos, bytes);
+        }
+    }
+
+    /**
+     * Starts measuring a new month, which spans all the phases measured until it is stopped.
+     */
+    public void startMonth() {
+        if (listener != MetricsListener.NONE) {
+            if (monthBytes != null) {
+                monthBytes.mark();
+            }
+            monthStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Stops measuring the current month and reports it as a whole.
+     *
+     * @param month that finished
+     */
+    public void stopMonth(final int month) {
+        if (listener != MetricsListener.NONE) {
+            long nanos = System.nanoTime() - monthStartNanos;
+            long bytes = monthBytes == null ? -1 : monthBytes.sinceMark();
+            listener.phaseFinished(month, Phase.MONTH, nanos, bytes);
+        }
+    }
+
+    /**
+     * Reports the value of a counter.
+     *
+     * @param month   of the counter
+     * @param counter that was measured
+     * @param value   of the counter over the month
+     */
+    public void count(final int month, final Counter counter, final long value) {
+        listener.counted(month, counter, value);
+    }
+
+    public MetricsListener getListener() {
+        return listener;
+    }
+}
@@ -0,0 +1,61 @@
+package metrics;
+
+import com.sun.management.ThreadMXBean;
+
+import java.util.Arrays;
+
+/**
+ * Bytes allocated by all the live threads of the virtual machine since a mark, so that the
+ * phases running on the pools of the parallel billing and settlement are measured along with
+ * the thread that waits for them. The bytes of every thread are read at the mark, the threads
+ * started afterwards being counted from zero, while a thread that ends before the bytes are
+ * read again takes its allocations since the mark with it, the result being a lower bound.
+ */
+final class ThreadAllocations {
+    private final ThreadMXBean threads; // source of the bytes allocated by each thread
+    private long[] ids; // sorted ids of the threads alive at the mark
+    private long[] bytes; // bytes allocated by each thread at the mark, -1 if unknown
+
+    /**
+     * Class constructor with one parameter.
+     *
+     * @param threads source of the bytes allocated by each thread, supporting their measurement
+     */
+    ThreadAllocations(final ThreadMXBean threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Reads the bytes allocated so far by every live thread.
+     */
+    void mark() {
+        ids = threads.getAllThreadIds();
+        Arrays.sort(ids);
+        bytes = threads.getThreadAllocatedBytes(ids);
+    }
+
+    /**
+     * Returns the bytes allocated by all the live threads since the last mark.
+     *
+     * @return the allocated bytes
+     */
+    long sinceMark() {
+        long total = 0;
+        long[] current = threads.getThreadAllocatedBytes(ids);
+        for (int i = 0; i < ids.length; ++i) {
+            // the threads that ended since the mark are reported with -1
+            if (current[i] >= 0 && bytes[i] >= 0) {
+                total += current[i] - bytes[i];
+            }
+        }
+        for (long id : threads.getAllThreadIds()) {
+            if (Arrays.binarySearch(ids, id) < 0) {
+                long started = threads.getThreadAllocatedBytes(id);
+                if (started > 0) {
+                    total += started;
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,278 @@
+package producer;
+
+import distributor.Distributor;
+
+import fileio.BinaryInput;
+import fileio.BinaryOutput;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Compact history of the distributors supplied by a producer over all turns of the game. A new
+ * snapshot is recorded only when the distributors differ from the ones of the previous recorded
+ * month, the months in between being covered by the same snapshot. Every FULL_INTERVAL-th
+ * snapshot holds all the sorted ids of its distributors, while the ones in between only hold
+ * the ids added and removed since the previous snapshot, so a month found by a binary search
+ * over the snapshots is rebuilt from the last full snapshot before it. The snapshot rebuilt last
+ * is kept, so reading the months in ascending order applies each delta once.
+ */
+public final class DistributorsHistory {
+    private static final int INITIAL_CAPACITY = 4; // initial capacity of the arrays
+    private static final int FULL_INTERVAL = 16; // snapshots between two full snapshots
+    private long[] ids; // ids of all the full snapshots and deltas, one after another
+    private int idsCount; // number of ids used from the ids array
+    private int[] offsets; // position of the first id of each snapshot
+    private int[] startMonths; // first month covered by each snapshot
+    private int[] sizes; // number of distributors of each snapshot
+    // number of ids added by each snapshot, the ids removed by a delta following them
+    private int[] addedCounts;
+    private int snapshotsCount; // number of recorded snapshots
+    private long[] currentIds; // sorted ids of the current month, reused between months
+    private long[] lastIds; // sorted ids of the last recorded snapshot
+    private int lastCount; // number of ids of the last recorded snapshot
+    private long[] viewIds; // sorted ids of the snapshot rebuilt last, null until read
+    private long[] viewBuffer; // ids of the snapshot being rebuilt from the last one
+    private int viewSnapshot; // index of the snapshot rebuilt last, -1 if none
+
+    /**
+     * Class constructor without parameters.
+     */
+    public DistributorsHistory() {
+        ids = new long[INITIAL_CAPACITY];
+        offsets = new int[INITIAL_CAPACITY + 1];
+        startMonths = new int[INITIAL_CAPACITY];
+        sizes = new int[INITIAL_CAPACITY];
+        addedCounts = new int[INITIAL_CAPACITY];
+        currentIds = new long[INITIAL_CAPACITY];
+        lastIds = new long[INITIAL_CAPACITY];
+        viewSnapshot = -1;
+    }
+
+    /**
+     * Appends an id to the ids of the snapshots. Private method designed for the current class.
+     *
+     * @param id to be appended
+     */
+    private void append(final long id) {
+        if (idsCount == ids.length) {
+            ids = Arrays.copyOf(ids, idsCount * 2);
+        }
+        ids[idsCount++] = id;
+    }
+
+    /**
+     * Appends the ids of the current month that are not found in the last snapshot, or the
+     * ones of the last snapshot that are not found in the current month. Private method
+     * designed for the current class.
+     *
+     * @param count number of ids of the current month
+     * @param added true for the added ids, false for the removed ones
+     * @return the number of ids appended
+     */
+    private int appendDifference(final int count, final boolean added) {
+        long[] from = added ? currentIds : lastIds;
+        int fromCount = added ? count : lastCount;
+        long[] other = added ? lastIds : currentIds;
+        int otherCount = added ? lastCount : count;
+        int appended = 0;
+        int j = 0;
+        for (int i = 0; i < fromCount; ++i) {
+            while (j < otherCount && other[j] < from[i]) {
+                j++;
+            }
+            if (j == otherCount || other[j] != from[i]) {
+                append(from[i]);
+                appended++;
+            }
+        }
+        return appended;
+    }
+
+    /**
+     * Records the distributors supplied in the given month, sorted by ids. Months must be
+     * recorded in ascending order and a snapshot is added only if the distributors changed.
+     *
+     * @param month        current turn of the game
+     * @param distributors supplied in the current month
+     */
+    public void record(final int month, final Collection<Distributor> distributors) {
+        int count = distributors.size();
+        if (count > currentIds.length) {
+            currentIds = new long[Math.max(currentIds.length * 2, count)];
+        }
+        int i = 0;
+        for (Distributor distributor : distributors) {
+            currentIds[i++] = distributor.getId();
+        }
+        Arrays.sort(currentIds, 0, count);
+        if (snapshotsCount > 0 && Arrays.equals(lastIds, 0, lastCount, currentIds, 0, count)) {
+            return; // the last snapshot also covers the current month
+        }
+        if (snapshotsCount == startMonths.length) {
+            startMonths = Arrays.copyOf(startMonths, snapshotsCount * 2);
+            sizes = Arrays.copyOf(sizes, snapshotsCount * 2);
+            addedCounts = Arrays.copyOf(addedCounts, snapshotsCount * 2);
+            offsets = Arrays.copyOf(offsets, snapshotsCount * 2 + 1);
+        }
+        offsets[snapshotsCount] = idsCount;
+        startMonths[snapshotsCount] = month;
+        sizes[snapshotsCount] = count;
+        if (snapshotsCount % FULL_INTERVAL == 0) {
+            for (int j = 0; j < count; ++j) {
+                append(currentIds[j]);
+            }
+            addedCounts[snapshotsCount] = count;
+        } else {
+            addedCounts[snapshotsCount] = appendDifference(count, true);
+            appendDifference(count, false);
+        }
+        snapshotsCount++;
+        offsets[snapshotsCount] = idsCount;
+        // the ids of the current month become the last snapshot
+        long[] swap = lastIds;
+        lastIds = currentIds;
+        lastCount = count;
+        currentIds = swap;
+    }
+
+    /**
+     * Rebuilds the ids of the given snapshot, from the snapshot rebuilt last if it comes after
+     * the last full snapshot, otherwise from the last full snapshot. Private method designed for
+     * the current class.
+     *
+     * @param snapshot index of the snapshot
+     */
+    private void view(final int snapshot) {
+        if (snapshot == viewSnapshot) {
+            return;
+        }
+        int full = snapshot - snapshot % FULL_INTERVAL;
+        if (viewSnapshot < full || viewSnapshot > snapshot) {
+            viewIds = Arrays.copyOfRange(ids, offsets[full], offsets[full] + sizes[full]);
+            viewSnapshot = full;
+        }
+        while (viewSnapshot < snapshot) {
+            applyDelta(viewSnapshot + 1);
+        }
+    }
+
+    /**
+     * Applies the ids added and removed by a delta to the ids of the previous snapshot,
+     * rebuilt last. Private method designed for the current class.
+     *
+     * @param snapshot index of the delta
+     */
+    private void applyDelta(final int snapshot) {
+        if (viewBuffer == null || viewBuffer.length < sizes[snapshot]) {
+            viewBuffer = new long[Math.max(sizes[snapshot], INITIAL_CAPACITY)];
+        }
+        int viewCount = sizes[snapshot - 1];
+        int added = offsets[snapshot];
+        int addedEnd = added + addedCounts[snapshot];
+        int removed = addedEnd;
+        int removedEnd = offsets[snapshot + 1];
+        int count = 0;
+        int i = 0;
+        // both the previous ids and the added ids are sorted, so they are merged
+        while (i < viewCount || added < addedEnd) {
+            if (added == addedEnd || i < viewCount && viewIds[i] < ids[added]) {
+                if (removed < removedEnd && ids[removed] == viewIds[i]) {
+                    removed++;
+                } else {
+                    viewBuffer[count++] = viewIds[i];
+                }
+                i++;
+            } else {
+                viewBuffer[count++] = ids[added++];
+            }
+        }
+        long[] swap = viewIds;
+        viewIds = viewBuffer;
+        viewBuffer = swap;
+        viewSnapshot = snapshot;
+    }
+
+    /**
+     * Writes the recorded snapshots to a checkpoint.
+     *
+     * @param out checkpoint being written
+     * @throws IOException input/output exception
+     */
+    public void save(final BinaryOutput out) throws IOException {
+        out.writeInt(snapshotsCount);
+        out.writeInt(idsCount);
+        out.writeLongs(ids, idsCount);
+        out.writeInts(offsets, snapshotsCount + 1);
+        out.writeInts(startMonths, snapshotsCount);
+        out.writeInts(sizes, snapshotsCount);
+        out.writeInts(addedCounts, snapshotsCount);
+    }
+
+    /**
+     * Replaces the recorded snapshots with the ones written to a checkpoint, rebuilding the
+     * last snapshot the next months are compared with.
+     *
+     * @param in checkpoint being read
+     * @throws IOException input/output exception
+     */
+    public void load(final BinaryInput in) throws IOException {
+        snapshotsCount = in.readInt();
+        idsCount = in.readInt();
+        int capacity = Math.max(INITIAL_CAPACITY, snapshotsCount);
+        ids = new long[Math.max(INITIAL_CAPACITY, idsCount)];
+        offsets = new int[capacity + 1];
+        startMonths = new int[capacity];
+        sizes = new int[capacity];
+        addedCounts = new int[capacity];
+        in.readLongs(ids, idsCount);
+        in.readInts(offsets, snapshotsCount + 1);
+        in.readInts(startMonths, snapshotsCount);
+        in.readInts(sizes, snapshotsCount);
+        in.readInts(addedCounts, snapshotsCount);
+        viewIds = null;
+        viewSnapshot = -1;
+        lastCount = 0;
+        if (snapshotsCount > 0) {
+            view(snapshotsCount - 1);
+            lastCount = sizes[snapshotsCount - 1];
+            lastIds = Arrays.copyOf(viewIds, Math.max(INITIAL_CAPACITY, lastCount));
+        }
+    }
+
+    /**
+     * Returns the snapshot that covers the given month, the last one recorded before or at the
+     * month.
+     *
+     * @param month turn of the game
+     * @return the index of the snapshot, -1 if the month was not recorded
+     */
+    public int getSnapshot(final int month) {
+        int position = Arrays.binarySearch(startMonths, 0, snapshotsCount, month);
+        if (position < 0) {
+            position = -position - 2;
+        }
+        return position;
+    }
+
+    /**
+     * @param snapshot index of the snapshot
+     * @return the number of distributors of the snapshot
+     */
+    public int getSnapshotSize(final int snapshot) {
+        return sizes[snapshot];
+    }
+
+    /**
+     * Returns an id of a snapshot, rebuilding the snapshot unless it was the last one read.
+     *
+     * @param snapshot index of the snapshot
+     * @param position of the id in the snapshot
+     * @return the id found at the given position of the snapshot, in ascending order
+     */
+    public long getId(final int snapshot, final int position) {
+        view(snapshot);
+        return viewIds[position];
+    }
+}
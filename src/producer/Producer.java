@@ -7,20 +7,19 @@ import entities.Entity;
 
 import org.json.simple.JSONObject;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 public final class Producer extends Entity {
     protected long maxDistributors; // maximum number of distributors supplied by the producer
     protected EnergyType energyType; // type of energy supplied
     protected long energyPerDistributor; // energy supplied to each distributor
     protected double priceKW; // price per KW
-    // list of distributors supplied  in the current month
-    protected List<Distributor> currentDistributors;
-    // lists of all distributors supplied over all turns of the game
-    protected Map<Integer, List<Distributor>> allDistributors;
+    // distributors supplied in the current month, in the order they were added, with constant
+    // time addition, removal and size
+    protected Set<Distributor> currentDistributors;
+    // history of all distributors supplied over all turns of the game
+    protected DistributorsHistory allDistributors;
 
     /**
      * Class constructor with one parameter.
@@ -28,17 +27,45 @@ public final class Producer extends Entity {
      * @param producer to be added, extracted from input data
      */
     public Producer(final JSONObject producer) {
-        super(producer); // super constructor call
-        this.energyType = EnergyType.valueOf((String) producer.get("energyType"));
-        this.energyPerDistributor = (long) producer.get("energyPerDistributor");
-        this.priceKW = (double) producer.get("priceKW");
-        this.maxDistributors = (long) producer.get("maxDistributors");
-        currentDistributors = new ArrayList<>();
-        allDistributors = new HashMap<>();
+        this((long) producer.get("id"), EnergyType.valueOf((String) producer.get("energyType")),
+                (long) producer.get("maxDistributors"), (double) producer.get("priceKW"),
+                (long) producer.get("energyPerDistributor"));
     }
 
     /**
-     * Adds a new distributor to the list of distributors supplied by the producer during the
+     * Class constructor with five parameters, used when the input data is not given as json.
+     *
+     * @param id                   of the producer
+     * @param energyType           type of energy supplied
+     * @param maxDistributors      maximum number of distributors supplied by the producer
+     * @param priceKW              price per KW
+     * @param energyPerDistributor energy supplied to each distributor
+     */
+    public Producer(final long id, final EnergyType energyType, final long maxDistributors,
+                    final double priceKW, final long energyPerDistributor) {
+        super(id); // super constructor call
+        this.energyType = energyType;
+        this.energyPerDistributor = energyPerDistributor;
+        this.priceKW = priceKW;
+        this.maxDistributors = maxDistributors;
+        currentDistributors = new LinkedHashSet<>();
+        allDistributors = new DistributorsHistory();
+    }
+
+    /**
+     * Class constructor with one parameter, used when restoring a producer from a checkpoint.
+     * The rest of the fields are set afterwards by the database.
+     *
+     * @param id of the producer
+     */
+    Producer(final long id) {
+        super(id); // super constructor call
+        currentDistributors = new LinkedHashSet<>();
+        allDistributors = new DistributorsHistory();
+    }
+
+    /**
+     * Adds a new distributor to the set of distributors supplied by the producer during the
      * current month of the game.
      *
      * @param distributor to be added
@@ -63,11 +90,11 @@ public final class Producer extends Entity {
         return priceKW;
     }
 
-    public List<Distributor> getDistributors() {
+    public Set<Distributor> getDistributors() {
         return currentDistributors;
     }
 
-    public Map<Integer, List<Distributor>> getAllDistributors() {
+    public DistributorsHistory getAllDistributors() {
         return allDistributors;
     }
 }
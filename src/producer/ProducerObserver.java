@@ -0,0 +1,12 @@
+package producer;
+
+/**
+ * Interface implemented by the entities that must be notified when a producer supplying them
+ * suffers changes.
+ */
+public interface ProducerObserver {
+    /**
+     * Notifies the observer that one of its suppliers suffered changes.
+     */
+    void update();
+}
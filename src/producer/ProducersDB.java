@@ -1,18 +1,33 @@
 package producer;
 
 import distributor.Distributor;
+import distributor.DistributorsDB;
 
+import entities.EnergyType;
+import entities.EntityIndex;
+
+import fileio.BinaryInput;
+import fileio.BinaryOutput;
+
+import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 
+import strategies.ProducersRanking;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Observable;
 
 /**
- * Observable, its observers are notified when new changes produce over the current month in game.
+ * Database of all producers, applying their monthly changes. The distributors supplied by a
+ * producer are its observers, implementing ProducerObserver: when the producer changes, each of
+ * them is notified through update and joins the queue of the distributors whose suppliers must
+ * be chosen again, so a change only reaches the distributors affected by it.
  */
-public final class ProducersDB extends Observable {
+public final class ProducersDB {
     private final List<Producer> producers; // list of all producers
+    private final EntityIndex<Producer> producersIndex; // producers by id
+    private final ProducersRanking ranking; // producers sorted by each strategy's criteria
 
     /**
      * Class constructor with one parameter.
@@ -21,36 +36,165 @@ public final class ProducersDB extends Observable {
      */
     public ProducersDB(final List<Producer> producers) {
         this.producers = producers;
+        this.producersIndex = new EntityIndex<>(producers, "producer");
+        this.ranking = new ProducersRanking(producers);
+    }
+
+    /**
+     * Applies all the producer changes of a month and notifies the distributors supplied by the
+     * modified producers. The rankings are invalidated once for the whole batch.
+     *
+     * @param producerChanges changes of the current month, extracted from input data
+     */
+    public void updateProducers(final JSONArray producerChanges) {
+        if (producerChanges.isEmpty()) {
+            return;
+        }
+        for (Object producer : producerChanges) {
+            updateProducer((long) ((JSONObject) producer).get("id"),
+                    (long) ((JSONObject) producer).get("energyPerDistributor"));
+        }
+        ranking.invalidate(); // the producers' places in the rankings may have changed
+    }
+
+    /**
+     * Applies all the producer changes of a month, given as columns, the same way as the ones
+     * given as json.
+     *
+     * @param ids                    of the modified producers
+     * @param energiesPerDistributor new energies supplied to each distributor, by change
+     * @param count                  number of changes
+     */
+    public void updateProducers(final long[] ids, final long[] energiesPerDistributor,
+                                final int count) {
+        if (count == 0) {
+            return;
+        }
+        for (int i = 0; i < count; ++i) {
+            updateProducer(ids[i], energiesPerDistributor[i]);
+        }
+        ranking.invalidate(); // the producers' places in the rankings may have changed
     }
 
     /**
-     * Updates the value of the energy supplied per distributor of the given producer and notifies
-     * its observers.
+     * Changes the energy supplied by a producer and notifies the distributors he supplies.
+     * Private method designed for the current class.
      *
-     * @param producer to be updated
+     * @param id                   of the modified producer
+     * @param energyPerDistributor new energy supplied to each distributor
      */
-    public void updateProducers(final JSONObject producer) {
-        long id = (long) producer.get("id");
-        producers.get((int) id).energyPerDistributor = (long) producer.get("energyPerDistributor");
-        // notifies observers
-        setChanged();
-        notifyObservers(id);
+    private void updateProducer(final long id, final long energyPerDistributor) {
+        Producer modifiedProducer = producersIndex.get(id);
+        modifiedProducer.energyPerDistributor = energyPerDistributor;
+        // notifies only the observers supplied by the modified producer, who queue themselves
+        // for updating their suppliers, once however many of their suppliers changed
+        for (ProducerObserver observer : modifiedProducer.getDistributors()) {
+            observer.update();
+        }
     }
 
     /**
-     * Updates the lists of all distributors supplied in the game by adding the current list of
-     * distributors.
+     * Updates the histories of all distributors supplied in the game by recording the current
+     * list of distributors, only stored again if it changed since the previous month.
      *
      * @param currentMonth current turn of the game
      */
     public void updateMonthlyDistributorsLists(final int currentMonth) {
-        producers.forEach(producer -> {
-            List<Distributor> currentDistributors = new ArrayList<>(producer.currentDistributors);
-            producer.allDistributors.put(currentMonth, currentDistributors);
-        });
+        producers.forEach(producer ->
+                producer.allDistributors.record(currentMonth, producer.currentDistributors));
+    }
+
+    /**
+     * Writes the producers to a checkpoint, with the histories of their distributors.
+     *
+     * @param out checkpoint being written
+     * @throws IOException input/output exception
+     */
+    public void save(final BinaryOutput out) throws IOException {
+        out.writeInt(producers.size());
+        for (Producer producer : producers) {
+            out.writeLong(producer.getId());
+            out.writeInt(producer.energyType.ordinal());
+            out.writeLong(producer.maxDistributors);
+            out.writeDouble(producer.priceKW);
+            out.writeLong(producer.energyPerDistributor);
+            producer.allDistributors.save(out);
+        }
+    }
+
+    /**
+     * Restores the producers written to a checkpoint. The distributors they supply are restored
+     * afterwards, once the distributors were restored.
+     *
+     * @param in checkpoint being read
+     * @return the restored database
+     * @throws IOException input/output exception
+     */
+    public static ProducersDB load(final BinaryInput in) throws IOException {
+        int size = in.readInt();
+        List<Producer> producers = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            Producer producer = new Producer(in.readLong());
+            producer.energyType = EnergyType.values()[in.readInt()];
+            producer.maxDistributors = in.readLong();
+            producer.priceKW = in.readDouble();
+            producer.energyPerDistributor = in.readLong();
+            producer.allDistributors.load(in);
+            producers.add(producer);
+        }
+        return new ProducersDB(producers);
+    }
+
+    /**
+     * Writes the ids of the distributors supplied in the current month by each producer, in the
+     * order they were added.
+     *
+     * @param out checkpoint being written
+     * @throws IOException input/output exception
+     */
+    public void saveSuppliedDistributors(final BinaryOutput out) throws IOException {
+        for (Producer producer : producers) {
+            out.writeInt(producer.currentDistributors.size());
+            for (Distributor distributor : producer.currentDistributors) {
+                out.writeLong(distributor.getId());
+            }
+        }
+    }
+
+    /**
+     * Restores the distributors supplied in the current month by each producer.
+     *
+     * @param in                   checkpoint being read
+     * @param distributorsDatabase database of the supplied distributors, already restored
+     * @throws IOException input/output exception
+     */
+    public void loadSuppliedDistributors(final BinaryInput in,
+                                         final DistributorsDB distributorsDatabase)
+            throws IOException {
+        for (Producer producer : producers) {
+            int count = in.readInt();
+            for (int i = 0; i < count; ++i) {
+                producer.addDistributor(distributorsDatabase.getDistributor(in.readLong()));
+            }
+        }
+    }
+
+    /**
+     * Returns the producer with the given id, whatever his position in the list.
+     *
+     * @param id of the producer
+     * @return the producer
+     * @throws IllegalArgumentException no producer has the given id
+     */
+    public Producer getProducer(final long id) {
+        return producersIndex.get(id);
     }
 
     public List<Producer> getProducers() {
         return producers;
     }
+
+    public ProducersRanking getRanking() {
+        return ranking;
+    }
 }
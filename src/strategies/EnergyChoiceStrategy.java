@@ -9,7 +9,7 @@ import java.util.List;
  */
 public interface EnergyChoiceStrategy {
     /**
-     * Sorts the database of producers based on strategy's criteria and returns the list of
+     * Walks the shared ranking of producers based on strategy's criteria and returns the list of
      * suppliers of the given distributor according to his required energy.
      *
      * @return list of producers chosen as suppliers
@@ -9,18 +9,14 @@ import producer.ProducersDB;
  * responsible for strategies creation.
  */
 public final class EnergyChoiceStrategyFactory {
-    private static EnergyChoiceStrategyFactory factory = null; // initially null private instance
-
     /**
-     * Returns a new factory instance.
+     * Returns the factory instance, created lazily through its holder class, the same way as the
+     * factory of entities, so games played at once on several threads share it safely.
      *
-     * @return the instance will be created at first call of getInstance()
+     * @return the only instance of the factory
      */
     public static EnergyChoiceStrategyFactory getInstance() {
-        if (factory == null) {
-            factory = new EnergyChoiceStrategyFactory();
-        }
-        return factory;
+        return Holder.INSTANCE;
     }
 
     /**
@@ -86,4 +82,12 @@ public final class EnergyChoiceStrategyFactory {
             case QUANTITY -> createQuantityEnergyChoiceStrategy(producersDatabase, distributor);
         };
     }
+
+    /**
+     * Holder of the factory instance, initialized on first use of the class.
+     */
+    private static final class Holder {
+        private static final EnergyChoiceStrategyFactory INSTANCE =
+                new EnergyChoiceStrategyFactory();
+    }
 }
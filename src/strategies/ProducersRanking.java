@@ -0,0 +1,103 @@
+package strategies;
+
+import producer.Producer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of the producers sorted by the criteria of each energy choice strategy, shared by all
+ * the distributors of a game. A ranking is sorted again only after the producers' database
+ * reported a change of one of its producers.
+ */
+public final class ProducersRanking {
+    private final List<Producer> producers; // list of all producers to be ranked
+    // sorted producers for each strategy type
+    private final Map<EnergyChoiceStrategyType, List<Producer>> rankings;
+    private long scannedProducers; // producers visited by the selections since the last reset
+
+    /**
+     * Class constructor with one parameter.
+     *
+     * @param producers list of all producers to be ranked
+     */
+    public ProducersRanking(final List<Producer> producers) {
+        this.producers = producers;
+        this.rankings = new EnumMap<>(EnergyChoiceStrategyType.class);
+    }
+
+    /**
+     * Returns the comparator that orders the producers according to the given strategy's
+     * criteria. Private method designed for the current class.
+     *
+     * @param type of the strategy
+     * @return the comparator of the strategy
+     */
+    private static Comparator<Producer> createComparator(final EnergyChoiceStrategyType type) {
+        return switch (type) {
+            // sorts the producers by prioritizing the ones offering renewable energy, by the
+            // smallest price per KW given, by the biggest amount of energy offered monthly and
+            // ultimately by ascending ids
+            case GREEN -> Comparator.comparing((Producer producer) -> producer.getEnergyType()
+                    .isRenewable(), Comparator.reverseOrder())
+                    .thenComparing(Producer::getPriceKW)
+                    .thenComparing(Producer::getEnergyPerDistributor, Comparator.reverseOrder())
+                    .thenComparing(Producer::getId);
+            // sorts the producers by the smallest price per KW given, by the biggest amount of
+            // energy offered monthly and ultimately by ascending ids
+            case PRICE -> Comparator.comparing(Producer::getPriceKW)
+                    .thenComparing(Producer::getEnergyPerDistributor, Comparator.reverseOrder())
+                    .thenComparing(Producer::getId);
+            // sorts the producers by the biggest amount of energy offered monthly and by
+            // ascending ids
+            case QUANTITY -> Comparator.comparing(Producer::getEnergyPerDistributor,
+                    Comparator.reverseOrder()).thenComparing(Producer::getId);
+        };
+    }
+
+    /**
+     * Returns the producers sorted by the given strategy's criteria, sorting them only if the
+     * ranking is not already cached. The returned list is shared and must not be modified.
+     *
+     * @param type of the strategy
+     * @return the sorted list of producers
+     */
+    public List<Producer> getRanking(final EnergyChoiceStrategyType type) {
+        return rankings.computeIfAbsent(type, strategyType -> {
+            List<Producer> sortedProducers = new ArrayList<>(producers);
+            sortedProducers.sort(createComparator(strategyType));
+            return sortedProducers;
+        });
+    }
+
+    /**
+     * Counts the producers visited by a selection walking one of the rankings.
+     *
+     * @param count number of visited producers
+     */
+    public void countScanned(final long count) {
+        scannedProducers += count;
+    }
+
+    /**
+     * Returns the number of producers visited by the selections since the last call and resets
+     * it.
+     *
+     * @return the number of visited producers
+     */
+    public long takeScannedProducers() {
+        long count = scannedProducers;
+        scannedProducers = 0;
+        return count;
+    }
+
+    /**
+     * Drops all the cached rankings, called whenever a producer suffered changes.
+     */
+    public void invalidate() {
+        rankings.clear();
+    }
+}
@@ -0,0 +1,60 @@
+package strategies;
+
+import distributor.Distributor;
+
+import producer.Producer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selection engine shared by all energy choice strategies. It walks a ranking of producers with
+ * an index cursor, without removing elements from the ranking or copying it.
+ */
+public final class ProducersSelector {
+
+    private ProducersSelector() {
+    }
+
+    /**
+     * Chooses the list of energy suppliers for the given distributor from the ranking of
+     * producers according to the energy needed, by extracting the first "n" producers until the
+     * total energy value is reached. Producers who reached the maximum number of supplied
+     * distributors for the current month are skipped by the cursor. The chosen producers add the
+     * distributor to their list of supplied distributors.
+     *
+     * @param ranking     shared rankings of the producers, left unmodified
+     * @param type        of the strategy whose ranking is walked
+     * @param distributor for whom the suppliers are chosen
+     * @return list of producers chosen as suppliers
+     * @throws IllegalStateException the producers left can not supply the energy needed
+     */
+    public static List<Producer> selectProducers(final ProducersRanking ranking,
+                                                 final EnergyChoiceStrategyType type,
+                                                 final Distributor distributor) {
+        // producers sorted by the strategy's criteria, shared by all distributors
+        List<Producer> sortedProducers = ranking.getRanking(type);
+        // list of producers to be returned
+        List<Producer> energyProducers = new ArrayList<>();
+        long distributorEnergy = distributor.getEnergyNeededKW();
+
+        // the cursor advances over the ranking until the energy need is covered
+        int cursor = 0;
+        for (; cursor < sortedProducers.size() && distributorEnergy > 0; ++cursor) {
+            Producer producer = sortedProducers.get(cursor);
+            if (producer.getDistributors().size() == producer.getMaxDistributors()) {
+                continue;
+            }
+            energyProducers.add(producer); // add producer to distributors' suppliers list
+            producer.addDistributor(distributor); // add distributor to producer's set
+            distributorEnergy -= producer.getEnergyPerDistributor();
+        }
+        ranking.countScanned(cursor); // the producers visited by the cursor
+        if (distributorEnergy > 0) {
+            throw new IllegalStateException("The producers can not supply the energy needed by "
+                    + "distributor " + distributor.getId());
+        }
+
+        return energyProducers;
+    }
+}